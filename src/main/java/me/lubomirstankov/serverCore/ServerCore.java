@@ -1,6 +1,7 @@
 package me.lubomirstankov.serverCore;
 
 import me.lubomirstankov.serverCore.core.Main;
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
 import org.bukkit.plugin.java.JavaPlugin;
 
 public final class ServerCore extends JavaPlugin {
@@ -18,4 +19,15 @@ public final class ServerCore extends JavaPlugin {
             main.destroy();
         }
     }
+
+    public Main getMain() {
+        return main;
+    }
+
+    /**
+     * @return the current settings snapshot
+     */
+    public PluginSettings getSettings() {
+        return main.configManager.settings();
+    }
 }
@@ -1,14 +1,16 @@
 package me.lubomirstankov.serverCore.commands;
 
 import me.lubomirstankov.serverCore.ServerCore;
-import me.lubomirstankov.serverCore.utils.PlaceholderUtil;
+import me.lubomirstankov.serverCore.core.config.ListCommandSettings;
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.template.RenderContext;
+import me.lubomirstankov.serverCore.template.ServerStatsSnapshot;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -22,8 +24,6 @@ import java.util.List;
  */
 public class ListCommand implements CommandExecutor, TabCompleter {
     private final ServerCore plugin;
-    private static final String CONFIG_PATH = "commands.list";
-    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
 
     public ListCommand(ServerCore plugin) {
         this.plugin = plugin;
@@ -31,63 +31,49 @@ public class ListCommand implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
+        ListCommandSettings settings = plugin.getSettings().listCommand();
 
-        if (section == null || !section.getBoolean("enabled", true)) {
+        if (!settings.enabled()) {
             sender.sendMessage(Component.text("This command is disabled."));
             return true;
         }
 
         // Check permission
-        String permission = section.getString("permission", "");
+        String permission = settings.permission();
         if (!permission.isEmpty() && !sender.hasPermission(permission)) {
-            String noPermMsg = section.getString("no-permission-message", "<red>You don't have permission to use this command!</red>");
-            sender.sendMessage(MINI_MESSAGE.deserialize(noPermMsg));
+            sender.sendMessage(settings.noPermissionMessage());
             return true;
         }
 
-        // Get online players
-        List<? extends Player> onlinePlayers = plugin.getServer().getOnlinePlayers().stream().toList();
+        // Online players, already sorted by name
+        List<Player> onlinePlayers = plugin.getMain().onlinePlayerIndex.players();
         int playerCount = onlinePlayers.size();
         int maxPlayers = plugin.getServer().getMaxPlayers();
 
+        // Capture server stats once for the whole listing
+        ServerStatsSnapshot stats = ServerStatsSnapshot.capture().withPlayerCounts(playerCount, maxPlayers);
+        RenderContext serverContext = RenderContext.server(stats);
+
         // Send header
-        List<String> headerLines = section.getStringList("format.header");
-        for (String line : headerLines) {
-            String formatted = line
-                    .replace("{online}", String.valueOf(playerCount))
-                    .replace("{max}", String.valueOf(maxPlayers));
-            sender.sendMessage(MINI_MESSAGE.deserialize(formatted));
+        for (CompiledTemplate line : settings.headerLines()) {
+            sender.sendMessage(MiniMessageCache.deserialize(line.render(serverContext)));
         }
 
         // Send player list
         if (playerCount == 0) {
-            String emptyMessage = section.getString("format.empty-message", "<gray>No players online</gray>");
-            sender.sendMessage(MINI_MESSAGE.deserialize(emptyMessage));
+            sender.sendMessage(settings.emptyMessage());
         } else {
-            String playerFormat = section.getString("format.player-format", "<gray>• <white>{player}</white></gray>");
-
             for (Player player : onlinePlayers) {
-                String formatted = playerFormat
-                        .replace("{player}", player.getName())
-                        .replace("{displayname}", player.displayName().toString())
-                        .replace("{world}", player.getWorld().getName())
-                        .replace("{gamemode}", player.getGameMode().name());
-
-                // Apply PlaceholderAPI if available
-                formatted = PlaceholderUtil.applyPlaceholdersWithBrackets(player, formatted);
+                // Render placeholders for the listed player (PlaceholderAPI included)
+                String formatted = settings.playerFormat().render(RenderContext.of(player, stats));
 
-                sender.sendMessage(MINI_MESSAGE.deserialize(formatted));
+                sender.sendMessage(MiniMessageCache.deserialize(formatted));
             }
         }
 
         // Send footer
-        List<String> footerLines = section.getStringList("format.footer");
-        for (String line : footerLines) {
-            String formatted = line
-                    .replace("{online}", String.valueOf(playerCount))
-                    .replace("{max}", String.valueOf(maxPlayers));
-            sender.sendMessage(MINI_MESSAGE.deserialize(formatted));
+        for (CompiledTemplate line : settings.footerLines()) {
+            sender.sendMessage(MiniMessageCache.deserialize(line.render(serverContext)));
         }
 
         return true;
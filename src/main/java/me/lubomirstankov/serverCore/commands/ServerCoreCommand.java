@@ -0,0 +1,111 @@
+package me.lubomirstankov.serverCore.commands;
+
+import me.lubomirstankov.serverCore.ServerCore;
+import me.lubomirstankov.serverCore.listeners.ServerMotdListener;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import me.lubomirstankov.serverCore.utils.RateLimiter;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Administrative /servercore command
+ * - /servercore reload: reload config.yml without a restart
+ * - /servercore stats: show ping rate limit and cache counters
+ */
+public class ServerCoreCommand implements CommandExecutor, TabCompleter {
+    private static final String PERMISSION = "servercore.admin";
+    private static final List<String> SUBCOMMANDS = List.of("reload", "stats");
+
+    private final ServerCore plugin;
+
+    public ServerCoreCommand(ServerCore plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!sender.hasPermission(PERMISSION)) {
+            sender.sendMessage(MiniMessageCache.deserialize("<red>You don't have permission to use this command!</red>"));
+            return true;
+        }
+
+        if (args.length == 0) {
+            sender.sendMessage(Component.text("Usage: /" + label + " <" + String.join("|", SUBCOMMANDS) + ">", NamedTextColor.GRAY));
+            return true;
+        }
+
+        switch (args[0].toLowerCase()) {
+            case "reload" -> reload(sender);
+            case "stats" -> stats(sender);
+            // User input - plain text, never parsed as MiniMessage or put into the shared cache
+            default -> sender.sendMessage(Component.text("Unknown subcommand: " + args[0], NamedTextColor.RED));
+        }
+        return true;
+    }
+
+    private void reload(CommandSender sender) {
+        long start = System.currentTimeMillis();
+
+        boolean started = plugin.getMain().reload(
+            // Varying text - built directly so it doesn't churn the shared MiniMessage cache
+            () -> sender.sendMessage(Component.text(
+                "ServerCore config reloaded in " + (System.currentTimeMillis() - start) + "ms.", NamedTextColor.GREEN
+            )),
+            reason -> sender.sendMessage(Component.text()
+                .append(Component.text("Failed to reload config.yml, keeping the current settings: ", NamedTextColor.RED))
+                .append(Component.text(String.valueOf(reason), NamedTextColor.GRAY))
+                .build())
+        );
+
+        if (!started) {
+            sender.sendMessage(MiniMessageCache.deserialize("<yellow>A reload is already in progress.</yellow>"));
+        }
+    }
+
+    private void stats(CommandSender sender) {
+        sender.sendMessage(MiniMessageCache.deserialize("<gold>ServerCore stats</gold>"));
+
+        // Counters change on every call - built directly so they don't churn the shared MiniMessage cache
+        ServerMotdListener motdListener = plugin.getMain().eventManager.getListener(ServerMotdListener.class);
+        if (motdListener == null) {
+            sender.sendMessage(statLine("Server list pings", "server MOTD disabled"));
+        } else {
+            RateLimiter<InetAddress> rateLimiter = motdListener.rateLimiter();
+            sender.sendMessage(statLine("Server list pings", "allowed=" + rateLimiter.allowed()
+                + " throttled=" + rateLimiter.throttled()
+                + " tracked-addresses=" + rateLimiter.trackedKeys() + "/" + rateLimiter.maxKeys()));
+        }
+
+        sender.sendMessage(statLine("MiniMessage cache", MiniMessageCache.cache().describe()));
+    }
+
+    private static Component statLine(String name, String value) {
+        return Component.text()
+            .append(Component.text(name + ": ", NamedTextColor.GRAY))
+            .append(Component.text(value, NamedTextColor.WHITE))
+            .build();
+    }
+
+    @Override
+    public @Nullable List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1 && sender.hasPermission(PERMISSION)) {
+            for (String subcommand : SUBCOMMANDS) {
+                if (subcommand.startsWith(args[0].toLowerCase())) {
+                    completions.add(subcommand);
+                }
+            }
+        }
+        return completions;
+    }
+}
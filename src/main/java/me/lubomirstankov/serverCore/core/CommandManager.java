@@ -2,6 +2,7 @@ package me.lubomirstankov.serverCore.core;
 
 import me.lubomirstankov.serverCore.ServerCore;
 import me.lubomirstankov.serverCore.commands.ListCommand;
+import me.lubomirstankov.serverCore.commands.ServerCoreCommand;
 import org.bukkit.command.PluginCommand;
 
 /**
@@ -20,6 +21,7 @@ public class CommandManager {
      */
     public void registerCommands() {
         registerListCommand();
+        registerServerCoreCommand();
     }
 
     /**
@@ -36,6 +38,20 @@ public class CommandManager {
         }
     }
 
+    /**
+     * Register the /servercore admin command
+     */
+    private void registerServerCoreCommand() {
+        PluginCommand serverCoreCommand = plugin.getCommand("servercore");
+        if (serverCoreCommand != null) {
+            ServerCoreCommand executor = new ServerCoreCommand(plugin);
+            serverCoreCommand.setExecutor(executor);
+            serverCoreCommand.setTabCompleter(executor);
+        } else {
+            plugin.getLogger().warning("Failed to register /servercore command - command not found in plugin.yml");
+        }
+    }
+
     /**
      * Cleanup resources if needed
      */
@@ -1,31 +1,42 @@
 package me.lubomirstankov.serverCore.core;
 
 import me.lubomirstankov.serverCore.ServerCore;
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
 import me.lubomirstankov.serverCore.listeners.DoubleJumpListener;
+import me.lubomirstankov.serverCore.listeners.EasterEggListener;
 import me.lubomirstankov.serverCore.listeners.InventoryLockListener;
 import me.lubomirstankov.serverCore.listeners.JoinListener;
 import me.lubomirstankov.serverCore.listeners.MotdListener;
 import me.lubomirstankov.serverCore.listeners.ServerMotdListener;
 import me.lubomirstankov.serverCore.listeners.TabListManager;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 
 import java.lang.reflect.Constructor;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
+/**
+ * Registers each feature's listener only while the feature is enabled.
+ * A disabled feature has no registered handlers at all, so it costs nothing per event;
+ * on reload, features are registered or unregistered as their enabled flag changes.
+ */
 public class EventManager {
     private final ServerCore plugin;
-    private final List<Listener> registeredListeners = new ArrayList<>();
-    private TabListManager tabListManager;
-
-    private final List<Class<? extends Listener>> listenerClasses = List.of(
-            JoinListener.class,
-            InventoryLockListener.class,
-            DoubleJumpListener.class,
-            MotdListener.class,
-            ServerMotdListener.class,
-            TabListManager.class
-            // Add more listener classes here
+    private final Map<FeatureModule, Listener> activeListeners = new LinkedHashMap<>();
+
+    private final List<FeatureModule> modules = List.of(
+            // Stays registered while the section exists - it also suppresses vanilla join messages when disabled
+            new FeatureModule("join-message", JoinListener.class, settings -> settings.joinMessage().configured()),
+            new FeatureModule("inventory-lock", InventoryLockListener.class, settings -> settings.inventoryLock().enabled()),
+            new FeatureModule("double-jump", DoubleJumpListener.class, settings -> settings.doubleJump().enabled()),
+            new FeatureModule("motd.player", MotdListener.class, settings -> settings.playerMotd().enabled()),
+            new FeatureModule("motd.server", ServerMotdListener.class, settings -> settings.serverMotd().enabled()),
+            new FeatureModule("tab-list", TabListManager.class, settings -> settings.tabList().enabled()),
+            new FeatureModule("easter-egg", EasterEggListener.class, settings -> true)
+            // Add more features here
     );
 
     public EventManager(ServerCore plugin) {
@@ -33,31 +44,95 @@ public class EventManager {
     }
 
     public void registerEvents() {
-        for (Class<? extends Listener> listenerClass : listenerClasses) {
-            try {
-                Listener listener = createListener(listenerClass);
-                plugin.getServer().getPluginManager().registerEvents(listener, plugin);
-                registeredListeners.add(listener);
+        PluginSettings settings = plugin.getSettings();
 
-                // Store TabListManager reference for cleanup
-                if (listener instanceof TabListManager) {
-                    tabListManager = (TabListManager) listener;
-                }
+        for (FeatureModule module : modules) {
+            if (module.enabled().test(settings)) {
+                enable(module);
+            } else {
+                plugin.getLogger().info("Feature disabled, not registering: " + module.configKey());
+            }
+        }
+    }
 
-                plugin.getLogger().info("Registered listener: " + listenerClass.getSimpleName());
-            } catch (Exception e) {
-                plugin.getLogger().severe("Failed to register listener " + listenerClass.getSimpleName() + ": " + e.getMessage());
+    /**
+     * Apply a new settings snapshot: register newly enabled features, unregister newly
+     * disabled ones and hand the snapshot to active listeners that keep config-derived state
+     *
+     * @param settings the new settings
+     */
+    public void reload(PluginSettings settings) {
+        for (FeatureModule module : modules) {
+            boolean enabled = module.enabled().test(settings);
+            Listener listener = activeListeners.get(module);
+
+            if (enabled && listener == null) {
+                enable(module);
+            } else if (!enabled && listener != null) {
+                disable(module, settings);
+            } else if (listener instanceof ReloadableListener reloadable) {
+                try {
+                    reloadable.reload(settings);
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Failed to reload listener " + module.listenerClass().getSimpleName() + ": " + e.getMessage());
+                }
             }
         }
     }
 
     public void cleanup() {
-        // Clean up TabListManager
-        if (tabListManager != null) {
-            tabListManager.cleanup();
+        // Clean up listeners with tasks or per-player state (e.g. TabListManager)
+        for (Listener listener : activeListeners.values()) {
+            if (listener instanceof ReloadableListener reloadable) {
+                reloadable.cleanup();
+            }
         }
 
-        registeredListeners.clear();
+        activeListeners.clear();
+    }
+
+    /**
+     * Get the active listener of a class
+     *
+     * @param listenerClass the listener class
+     * @return the listener, or null if its feature is disabled
+     */
+    public <T extends Listener> T getListener(Class<T> listenerClass) {
+        for (Listener listener : activeListeners.values()) {
+            if (listenerClass.isInstance(listener)) {
+                return listenerClass.cast(listener);
+            }
+        }
+        return null;
+    }
+
+    private void enable(FeatureModule module) {
+        try {
+            Listener listener = createListener(module.listenerClass());
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            activeListeners.put(module, listener);
+
+            plugin.getLogger().info("Registered listener: " + module.listenerClass().getSimpleName());
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to register listener " + module.listenerClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private void disable(FeatureModule module, PluginSettings settings) {
+        Listener listener = activeListeners.remove(module);
+
+        if (listener instanceof ReloadableListener reloadable) {
+            try {
+                // Let the listener undo what it shows players (e.g. the custom tab list) before it goes away
+                reloadable.reload(settings);
+                reloadable.cleanup();
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to clean up listener " + module.listenerClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+
+        HandlerList.unregisterAll(listener);
+        plugin.getLogger().info("Unregistered listener: " + module.listenerClass().getSimpleName());
     }
 
     private Listener createListener(Class<? extends Listener> listenerClass) throws Exception {
@@ -71,4 +146,14 @@ public class EventManager {
             return constructor.newInstance();
         }
     }
+
+    /**
+     * A feature backed by one listener
+     *
+     * @param configKey the config section that enables the feature
+     * @param listenerClass the listener registered while the feature is enabled
+     * @param enabled whether the feature is enabled in a settings snapshot
+     */
+    private record FeatureModule(String configKey, Class<? extends Listener> listenerClass, Predicate<PluginSettings> enabled) {
+    }
 }
@@ -1,19 +1,27 @@
 package me.lubomirstankov.serverCore.core;
 
 import me.lubomirstankov.serverCore.ServerCore;
+import me.lubomirstankov.serverCore.core.config.ConfigManager;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
 import me.lubomirstankov.serverCore.utils.PlaceholderUtil;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.function.Consumer;
+
 public class Main {
     private final JavaPlugin plugin;
     public final EventManager eventManager;
     public final CommandManager commandManager;
+    public final OnlinePlayerIndex onlinePlayerIndex;
+    public final ConfigManager configManager;
 
     public Main(JavaPlugin plugin) {
         this.plugin = plugin;
+        this.configManager = new ConfigManager(plugin);
+        this.onlinePlayerIndex = new OnlinePlayerIndex();
         this.eventManager = new EventManager((ServerCore) this.plugin);
         this.commandManager = new CommandManager((ServerCore) this.plugin);
     }
@@ -25,9 +33,15 @@ public class Main {
         // Initialize PlaceholderAPI support
         PlaceholderUtil.initialize();
 
+        // Parse the config once into the settings snapshot every listener reads
+        this.configManager.load();
+
         // Notify enabling
         this.notifyEnabling();
 
+        // Register the player index first so it is up to date for every other listener
+        plugin.getServer().getPluginManager().registerEvents(this.onlinePlayerIndex, plugin);
+
         // Register events
         this.eventManager.registerEvents();
 
@@ -35,6 +49,20 @@ public class Main {
         this.commandManager.registerCommands();
     }
 
+    /**
+     * Reload config.yml and apply it to every feature without a restart
+     *
+     * @param onSuccess called on the main thread once the new settings are live
+     * @param onFailure called on the main thread with the reason if the config could not be loaded
+     * @return false if a reload is already in progress
+     */
+    public boolean reload(Runnable onSuccess, Consumer<String> onFailure) {
+        return this.configManager.reload(settings -> {
+            this.eventManager.reload(settings);
+            onSuccess.run();
+        }, onFailure);
+    }
+
     public void destroy() {
         // Cleanup events (including TabListener)
         if (this.eventManager != null) {
@@ -45,6 +73,9 @@ public class Main {
         if (this.commandManager != null) {
             this.commandManager.unregisterCommands();
         }
+
+        // Report cache effectiveness for tuning
+        plugin.getLogger().info("MiniMessage cache: " + MiniMessageCache.cache().describe());
     }
 
 
@@ -0,0 +1,111 @@
+package me.lubomirstankov.serverCore.core;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Online players kept sorted by name, maintained incrementally on join/quit.
+ *
+ * Replaces copying and sorting Bukkit.getOnlinePlayers() every time a sorted view is needed
+ * (tab list hiding, /list, the "...and X more" counter). Lookups by rank are O(1),
+ * insert/remove find their position with a binary search.
+ *
+ * Main thread only - joins, quits and all readers run on the server thread.
+ */
+public class OnlinePlayerIndex implements Listener {
+    // Same order as the tab list: by name, UUID only to break ties
+    private static final Comparator<Player> ORDER = Comparator
+        .comparing(Player::getName)
+        .thenComparing(Player::getUniqueId);
+
+    private final List<Player> players = new ArrayList<>();
+    private final List<Player> view = Collections.unmodifiableList(players);
+
+    public OnlinePlayerIndex() {
+        // Pick up players already online (e.g. when enabled by a plugin manager at runtime)
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            add(player);
+        }
+    }
+
+    // LOWEST so the index already contains the player for every other join handler
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        add(event.getPlayer());
+    }
+
+    // MONITOR so quit handlers of lower priorities still see the player listed. MONITOR quit
+    // handlers (e.g. TabListManager's) may run after this one and must not rely on the index
+    // still containing the quitting player.
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer());
+    }
+
+    /**
+     * @return the number of indexed players
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Get the player at a rank in name order
+     *
+     * @param rank the zero-based rank
+     * @return the player
+     */
+    public Player get(int rank) {
+        return players.get(rank);
+    }
+
+    /**
+     * @return read-only view of all players in name order
+     */
+    public List<Player> players() {
+        return view;
+    }
+
+    /**
+     * Get the players ranked at or after the given rank, e.g. everyone beyond a display limit.
+     * The returned list is a read-only view, valid until the next join or quit.
+     *
+     * @param fromRank the first rank to include
+     * @return read-only view of the players from that rank on (empty if fromRank is past the end)
+     */
+    public List<Player> from(int fromRank) {
+        if (fromRank >= players.size()) {
+            return List.of();
+        }
+        return view.subList(Math.max(0, fromRank), players.size());
+    }
+
+    private void add(Player player) {
+        int index = Collections.binarySearch(players, player, ORDER);
+        if (index >= 0) {
+            return; // Already indexed
+        }
+        // Shifting the tail is a single array copy, cheap next to the player counts we deal with
+        players.add(-index - 1, player);
+    }
+
+    private void remove(Player player) {
+        int index = Collections.binarySearch(players, player, ORDER);
+        if (index >= 0) {
+            players.remove(index);
+        } else {
+            // Should not happen - fall back to identity in case ordering changed
+            players.removeIf(indexed -> indexed.getUniqueId().equals(player.getUniqueId()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package me.lubomirstankov.serverCore.core;
+
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
+import org.bukkit.event.Listener;
+
+/**
+ * A listener that keeps state derived from the configuration (tasks, caches, sent packets)
+ * and must rebuild it when the settings snapshot is replaced.
+ *
+ * Listeners that only read the current snapshot on each event don't need this.
+ */
+public interface ReloadableListener extends Listener {
+    /**
+     * Apply a new settings snapshot. Called on the main thread right after the swap.
+     *
+     * @param settings the new settings
+     */
+    void reload(PluginSettings settings);
+
+    /**
+     * Release tasks and per-player state on plugin disable
+     */
+    default void cleanup() {
+    }
+}
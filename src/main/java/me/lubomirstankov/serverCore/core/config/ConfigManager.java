@@ -0,0 +1,98 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Holds the current {@link PluginSettings} snapshot.
+ * The snapshot is replaced as a whole, so readers always see one consistent configuration.
+ */
+public class ConfigManager {
+    private final JavaPlugin plugin;
+    private final AtomicBoolean reloading = new AtomicBoolean(false);
+    private volatile PluginSettings settings;
+
+    public ConfigManager(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Parse the plugin's current config.yml into a new snapshot and make it current
+     *
+     * @return the new settings
+     */
+    public PluginSettings load() {
+        PluginSettings loaded = PluginSettings.load(plugin.getConfig(), plugin.getLogger());
+        this.settings = loaded;
+        return loaded;
+    }
+
+    /**
+     * Reload config.yml from disk without blocking the server.
+     * The file is read, validated and parsed (templates included) on an async thread;
+     * the new snapshot is then swapped in on the main thread in a single tick.
+     * If the file cannot be parsed, the current settings are kept.
+     *
+     * @param onSwap called on the main thread right after the new snapshot became current
+     * @param onFailure called on the main thread with the reason if the reload failed
+     * @return false if a reload is already in progress
+     */
+    public boolean reload(Consumer<PluginSettings> onSwap, Consumer<String> onFailure) {
+        if (!reloading.compareAndSet(false, true)) {
+            return false;
+        }
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            PluginSettings loaded;
+            try {
+                loaded = PluginSettings.load(readConfigFile(), plugin.getLogger());
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to reload config.yml, keeping the current settings: " + e.getMessage());
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    reloading.set(false);
+                    onFailure.accept(e.getMessage());
+                });
+                return;
+            }
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                this.settings = loaded;
+                reloading.set(false);
+                onSwap.accept(loaded);
+            });
+        });
+        return true;
+    }
+
+    /**
+     * Read config.yml from the data folder with the bundled config as defaults.
+     * Unlike {@link JavaPlugin#reloadConfig()}, syntax errors are thrown instead of yielding an empty config.
+     */
+    private YamlConfiguration readConfigFile() throws Exception {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(new File(plugin.getDataFolder(), "config.yml"));
+
+        try (InputStream defaults = plugin.getResource("config.yml")) {
+            if (defaults != null) {
+                config.setDefaults(YamlConfiguration.loadConfiguration(
+                    new InputStreamReader(defaults, StandardCharsets.UTF_8)
+                ));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * @return the current settings snapshot
+     */
+    public PluginSettings settings() {
+        return settings;
+    }
+}
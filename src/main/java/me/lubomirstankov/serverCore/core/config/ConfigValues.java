@@ -0,0 +1,68 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.sound.Sound;
+import org.bukkit.Color;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.logging.Logger;
+
+/**
+ * Shared parsing helpers for the settings records
+ */
+final class ConfigValues {
+    private ConfigValues() {
+    }
+
+    /**
+     * Parse a sound section ("enabled", "type", "volume", "pitch")
+     *
+     * @param section the sound section (may be null)
+     * @param defaultType the sound used when "type" is missing, as a Bukkit Sound enum name
+     * @param defaultVolume the default volume
+     * @param defaultPitch the default pitch
+     * @param source the sound source
+     * @param logger logger for invalid values
+     * @return the sound, or null if the section is missing, disabled or invalid
+     */
+    static Sound sound(ConfigurationSection section, String defaultType, double defaultVolume,
+                       double defaultPitch, Sound.Source source, Logger logger) {
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return null;
+        }
+
+        String soundType = section.getString("type", defaultType);
+        try {
+            float volume = (float) section.getDouble("volume", defaultVolume);
+            float pitch = (float) section.getDouble("pitch", defaultPitch);
+
+            // Convert ENTITY_PLAYER_LEVELUP to entity.player.levelup format
+            String soundKey = soundType.toLowerCase().replace("_", ".");
+
+            return Sound.sound(Key.key(soundKey), source, volume, pitch);
+        } catch (Exception e) {
+            logger.warning("Invalid sound type '" + soundType + "' in " + section.getCurrentPath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Parse a hex color such as "#FF6B6B"
+     *
+     * @param hex the color text
+     * @param logger logger for invalid values
+     * @return the color, or null if the text is not a valid hex color
+     */
+    static Color color(String hex, Logger logger) {
+        try {
+            String digits = hex.replace("#", "");
+            int r = Integer.parseInt(digits.substring(0, 2), 16);
+            int g = Integer.parseInt(digits.substring(2, 4), 16);
+            int b = Integer.parseInt(digits.substring(4, 6), 16);
+            return Color.fromRGB(r, g, b);
+        } catch (Exception e) {
+            logger.warning("Invalid color format: " + hex);
+            return null;
+        }
+    }
+}
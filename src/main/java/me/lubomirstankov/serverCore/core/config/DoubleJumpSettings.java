@@ -0,0 +1,325 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import net.kyori.adventure.sound.Sound;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Color;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Settings of the "double-jump" section.
+ * Particles, sounds, colours and potion effects are parsed once here, so invalid values
+ * are reported once at load instead of on every jump.
+ *
+ * @param enabled whether double jump is active
+ * @param boostStrength forward velocity multiplier
+ * @param boostUpward upward velocity
+ * @param cooldownMs cooldown between double jumps, in milliseconds
+ * @param readyMessage action bar message shown when the cooldown is over, or null for none
+ * @param permission permission required to double jump (empty for everyone)
+ * @param detection how the second jump press is detected
+ * @param effects the default effects played on a double jump
+ * @param profiles effect profiles that replace the default effects by world or permission, in config order
+ */
+public record DoubleJumpSettings(
+    boolean enabled,
+    double boostStrength,
+    double boostUpward,
+    long cooldownMs,
+    Component readyMessage,
+    String permission,
+    Detection detection,
+    Effects effects,
+    List<JumpEffectProfile> profiles
+) {
+    static final String CONFIG_PATH = "double-jump";
+
+    static DoubleJumpSettings load(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return new DoubleJumpSettings(false, 1.5, 0.5, 3000, null, "", Detection.FLIGHT, Effects.NONE, List.of());
+        }
+
+        ConfigurationSection effectsSection = section.getConfigurationSection("effects");
+        Effects effects = effectsSection != null ? Effects.load(effectsSection, logger) : Effects.NONE;
+        String readyMessage = section.getString("ready-message", "");
+
+        return new DoubleJumpSettings(
+            section.getBoolean("enabled", false),
+            section.getDouble("boost-strength", 1.5),
+            section.getDouble("boost-upward", 0.5),
+            section.getLong("cooldown-ms", 3000),
+            readyMessage.isEmpty() ? null : MiniMessageCache.deserialize(readyMessage),
+            section.getString("permission", ""),
+            Detection.fromConfig(section.getString("detection", "flight")),
+            effects,
+            JumpEffectProfile.loadAll(section.getConfigurationSection("profiles"), effects, logger)
+        );
+    }
+
+    /**
+     * Resolve the effects of a player: the first matching profile, or the default effects.
+     * Checks permissions, so callers should cache the result rather than resolve per jump.
+     *
+     * @param player the player
+     * @return the effects to play for the player
+     */
+    public Effects effectsFor(Player player) {
+        for (JumpEffectProfile profile : profiles) {
+            if (profile.matches(player)) {
+                return profile.effects();
+            }
+        }
+        return effects;
+    }
+
+    /**
+     * How the second jump press is detected
+     */
+    public enum Detection {
+        /** Allow flight while airborne and catch the flight toggle */
+        FLIGHT,
+        /** Read the jump key from the client's input packets (requires ProtocolLib) */
+        PACKET_INPUT;
+
+        static Detection fromConfig(String value) {
+            return switch (value.toLowerCase()) {
+                case "packet-input" -> PACKET_INPUT;
+                default -> FLIGHT;
+            };
+        }
+    }
+
+    /**
+     * How fireworks and particles are shown
+     */
+    public enum Backend {
+        /** Real firework entities and world particles */
+        ENTITY,
+        /** Client-side only: firework and particle packets sent to nearby players (requires ProtocolLib) */
+        PACKET;
+
+        static Backend fromConfig(String value) {
+            return switch (value.toLowerCase()) {
+                case "packet" -> PACKET;
+                default -> ENTITY;
+            };
+        }
+    }
+
+    /**
+     * Effects played on a double jump. Disabled or invalid effects are null (empty for potion effects).
+     *
+     * @param fireworks the fireworks to launch
+     * @param particles the particles to spawn
+     * @param potionEffects the potion effects to apply
+     * @param actionBar the action bar message
+     * @param title the title to show
+     * @param sound the sound to play
+     * @param backend how fireworks and particles reach players
+     * @param budget limits on fireworks and particles for crowds
+     */
+    public record Effects(
+        Fireworks fireworks,
+        Particles particles,
+        List<PotionEffect> potionEffects,
+        Component actionBar,
+        Title title,
+        Sound sound,
+        Backend backend,
+        Budget budget
+    ) {
+        static final Effects NONE = new Effects(null, null, List.of(), null, null, null, Backend.ENTITY, Budget.DEFAULT);
+
+        /**
+         * @param defaults the default effects
+         * @return these effects using the backend and budget of the defaults, which are server-wide
+         */
+        Effects withDeliveryOf(Effects defaults) {
+            return new Effects(fireworks, particles, potionEffects, actionBar, title, sound, defaults.backend(), defaults.budget());
+        }
+
+        static Effects load(ConfigurationSection section, Logger logger) {
+            return new Effects(
+                Fireworks.load(enabledSection(section, "fireworks"), logger),
+                Particles.load(enabledSection(section, "particles"), logger),
+                loadPotionEffects(enabledSection(section, "potion-effects"), logger),
+                loadActionBar(enabledSection(section, "action-bar")),
+                loadTitle(enabledSection(section, "title")),
+                ConfigValues.sound(section.getConfigurationSection("sound"),
+                    "ENTITY_FIREWORK_ROCKET_LAUNCH", 0.8, 1.2, Sound.Source.PLAYER, logger),
+                Backend.fromConfig(section.getString("backend", "entity")),
+                Budget.load(section.getConfigurationSection("budget"))
+            );
+        }
+
+        private static ConfigurationSection enabledSection(ConfigurationSection parent, String key) {
+            ConfigurationSection section = parent.getConfigurationSection(key);
+            return section != null && section.getBoolean("enabled", false) ? section : null;
+        }
+
+        private static List<PotionEffect> loadPotionEffects(ConfigurationSection section, Logger logger) {
+            if (section == null) {
+                return List.of();
+            }
+
+            List<PotionEffect> potionEffects = new ArrayList<>();
+            for (Map<?, ?> effectMap : section.getMapList("effects")) {
+                try {
+                    String type = (String) effectMap.get("type");
+                    Object durationObj = effectMap.get("duration");
+                    Object amplifierObj = effectMap.get("amplifier");
+
+                    int duration = (durationObj instanceof Number) ? ((Number) durationObj).intValue() : 40;
+                    int amplifier = (amplifierObj instanceof Number) ? ((Number) amplifierObj).intValue() : 0;
+
+                    PotionEffectType potionType = PotionEffectType.getByKey(NamespacedKey.minecraft(type.toLowerCase()));
+                    if (potionType != null) {
+                        potionEffects.add(new PotionEffect(potionType, duration, amplifier, false, false, true));
+                    } else {
+                        logger.warning("Invalid potion effect type: " + type);
+                    }
+                } catch (Exception e) {
+                    logger.warning("Error loading potion effect: " + e.getMessage());
+                }
+            }
+            return List.copyOf(potionEffects);
+        }
+
+        private static Component loadActionBar(ConfigurationSection section) {
+            if (section == null) {
+                return null;
+            }
+            return MiniMessageCache.deserialize(section.getString("message", "<green>Double Jump!</green>"));
+        }
+
+        private static Title loadTitle(ConfigurationSection section) {
+            if (section == null) {
+                return null;
+            }
+
+            Component title = MiniMessageCache.deserialize(section.getString("title", ""));
+            Component subtitle = MiniMessageCache.deserialize(section.getString("subtitle", ""));
+
+            Title.Times times = Title.Times.times(
+                Duration.ofMillis(section.getInt("fade-in", 5) * 50L),
+                Duration.ofMillis(section.getInt("stay", 15) * 50L),
+                Duration.ofMillis(section.getInt("fade-out", 10) * 50L)
+            );
+
+            return Title.title(title, subtitle, times);
+        }
+    }
+
+    /**
+     * Limits on area effects (fireworks, particles) when many players double jump at once
+     *
+     * @param perTick effect units all players may use per tick (a firework or a particle burst is one unit)
+     * @param perChunk double jumps per chunk per tick that still get area effects
+     * @param viewRadius packet backend: how close players must be to see area effects
+     */
+    public record Budget(int perTick, int perChunk, double viewRadius) {
+        static final Budget DEFAULT = new Budget(20, 3, 48);
+
+        static Budget load(ConfigurationSection section) {
+            if (section == null) {
+                return DEFAULT;
+            }
+            return new Budget(
+                Math.max(1, section.getInt("per-tick", DEFAULT.perTick())),
+                Math.max(1, section.getInt("per-chunk", DEFAULT.perChunk())),
+                Math.max(1, section.getDouble("view-radius", DEFAULT.viewRadius()))
+            );
+        }
+    }
+
+    /**
+     * @param count the number of fireworks launched
+     * @param effect the firework effect
+     * @param item the firework item carrying the effect, built once at load for client-side
+     *             fireworks - shared, never modify it
+     */
+    public record Fireworks(int count, FireworkEffect effect, ItemStack item) {
+        static Fireworks load(ConfigurationSection section, Logger logger) {
+            if (section == null) {
+                return null;
+            }
+
+            String effectType = section.getString("type", "BALL_LARGE");
+            FireworkEffect.Type type;
+            try {
+                type = FireworkEffect.Type.valueOf(effectType);
+            } catch (IllegalArgumentException e) {
+                type = FireworkEffect.Type.BALL_LARGE;
+                logger.warning("Invalid firework type: " + effectType);
+            }
+
+            // Parse colors
+            Color[] colors = section.getStringList("colors").stream()
+                .map(hex -> ConfigValues.color(hex, logger))
+                .filter(Objects::nonNull)
+                .toArray(Color[]::new);
+
+            if (colors.length == 0) {
+                colors = new Color[]{Color.RED, Color.BLUE, Color.GREEN};
+            }
+
+            FireworkEffect effect = FireworkEffect.builder()
+                .with(type)
+                .withColor(colors)
+                .withFlicker()
+                .build();
+
+            ItemStack item = new ItemStack(Material.FIREWORK_ROCKET);
+            FireworkMeta meta = (FireworkMeta) item.getItemMeta();
+            meta.addEffect(effect);
+            meta.setPower(0);
+            item.setItemMeta(meta);
+
+            return new Fireworks(section.getInt("count", 3), effect, item);
+        }
+    }
+
+    /**
+     * @param particle the particle type
+     * @param count the number of particles
+     * @param spread the spread radius on each axis
+     * @param speed the particle speed
+     */
+    public record Particles(Particle particle, int count, double spread, double speed) {
+        static Particles load(ConfigurationSection section, Logger logger) {
+            if (section == null) {
+                return null;
+            }
+
+            String particleType = section.getString("type", "FIREWORKS_SPARK");
+            try {
+                return new Particles(
+                    Particle.valueOf(particleType),
+                    section.getInt("count", 30),
+                    section.getDouble("spread", 0.5),
+                    section.getDouble("speed", 0.1)
+                );
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid particle type: " + particleType);
+                return null;
+            }
+        }
+    }
+}
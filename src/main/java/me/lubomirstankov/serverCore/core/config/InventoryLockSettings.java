@@ -0,0 +1,36 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+/**
+ * Settings of the "inventory-lock" section
+ *
+ * @param enabled whether the inventory lock is active
+ * @param preventClick cancel inventory clicks
+ * @param preventDrop cancel item drops
+ * @param preventPickup cancel item pickups
+ * @param bypassPermission players with this permission are not locked
+ */
+public record InventoryLockSettings(
+    boolean enabled,
+    boolean preventClick,
+    boolean preventDrop,
+    boolean preventPickup,
+    String bypassPermission
+) {
+    static final String CONFIG_PATH = "inventory-lock";
+
+    static InventoryLockSettings load(ConfigurationSection section) {
+        if (section == null) {
+            return new InventoryLockSettings(false, false, false, false, "");
+        }
+
+        return new InventoryLockSettings(
+            section.getBoolean("enabled", false),
+            section.getBoolean("prevent-click", true),
+            section.getBoolean("prevent-drop", true),
+            section.getBoolean("prevent-pickup", true),
+            section.getString("bypass-permission", "servercore.inventory.bypass")
+        );
+    }
+}
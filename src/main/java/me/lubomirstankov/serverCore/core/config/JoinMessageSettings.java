@@ -0,0 +1,78 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import net.kyori.adventure.sound.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Settings of the "join-message" section
+ *
+ * @param configured whether the section exists (without it, vanilla join messages are kept)
+ * @param enabled whether custom join messages are sent (vanilla ones are suppressed either way)
+ * @param message the compiled default message
+ * @param sound the default join sound, or null for none
+ * @param perWorld per-world overrides keyed by world name
+ */
+public record JoinMessageSettings(
+    boolean configured,
+    boolean enabled,
+    CompiledTemplate message,
+    Sound sound,
+    Map<String, WorldOverride> perWorld
+) {
+    static final String CONFIG_PATH = "join-message";
+    private static final String DEFAULT_JOIN_MESSAGE = "<green>{player} has joined the server!</green>";
+
+    static JoinMessageSettings load(ConfigurationSection section, Logger logger) {
+        if (section == null) {
+            return new JoinMessageSettings(false, false, CompiledTemplate.compile(DEFAULT_JOIN_MESSAGE), null, Map.of());
+        }
+
+        Map<String, WorldOverride> perWorld = new HashMap<>();
+        ConfigurationSection perWorldSection = section.getConfigurationSection("per-world");
+        if (perWorldSection != null) {
+            for (String worldName : perWorldSection.getKeys(false)) {
+                ConfigurationSection worldConfig = perWorldSection.getConfigurationSection(worldName);
+                if (worldConfig == null) {
+                    continue;
+                }
+
+                perWorld.put(worldName, new WorldOverride(
+                    worldConfig.getBoolean("enabled", true),
+                    worldConfig.contains("message")
+                        ? CompiledTemplate.compile(worldConfig.getString("message", DEFAULT_JOIN_MESSAGE))
+                        : null,
+                    worldConfig.contains("sound"),
+                    loadSound(worldConfig.getConfigurationSection("sound"), logger)
+                ));
+            }
+        }
+
+        return new JoinMessageSettings(
+            true,
+            section.getBoolean("enabled", true),
+            CompiledTemplate.compile(section.getString("message", DEFAULT_JOIN_MESSAGE)),
+            loadSound(section.getConfigurationSection("sound"), logger),
+            Map.copyOf(perWorld)
+        );
+    }
+
+    private static Sound loadSound(ConfigurationSection section, Logger logger) {
+        return ConfigValues.sound(section, "ENTITY_PLAYER_LEVELUP", 0.75, 1.0, Sound.Source.MASTER, logger);
+    }
+
+    /**
+     * Join message overrides for one world
+     *
+     * @param enabled whether join messages are sent in this world
+     * @param message the compiled message, or null to use the default one
+     * @param overridesSound whether the world declares its own sound section
+     * @param sound the world's join sound, or null for none
+     */
+    public record WorldOverride(boolean enabled, CompiledTemplate message, boolean overridesSound, Sound sound) {
+    }
+}
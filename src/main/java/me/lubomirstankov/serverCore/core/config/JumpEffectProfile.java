@@ -0,0 +1,63 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * A double jump effect profile from "double-jump.profiles", compiled at load.
+ * Replaces the default effects for players in its worlds who have its permission.
+ *
+ * @param name the profile name (its config key)
+ * @param permission permission required to use the profile (empty for everyone)
+ * @param worlds worlds the profile applies in (empty for all worlds)
+ * @param effects the compiled effects; backend and budget are always those of the default effects
+ */
+public record JumpEffectProfile(String name, String permission, Set<String> worlds, DoubleJumpSettings.Effects effects) {
+
+    /**
+     * @param player the player
+     * @return true if the profile applies to the player where they are now
+     */
+    public boolean matches(Player player) {
+        return (worlds.isEmpty() || worlds.contains(player.getWorld().getName()))
+            && (permission.isEmpty() || player.hasPermission(permission));
+    }
+
+    static List<JumpEffectProfile> loadAll(ConfigurationSection section, DoubleJumpSettings.Effects defaults, Logger logger) {
+        if (section == null) {
+            return List.of();
+        }
+
+        List<JumpEffectProfile> profiles = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection profileSection = section.getConfigurationSection(name);
+            if (profileSection == null) {
+                logger.warning("Double jump profile '" + name + "' is not a section, ignoring it");
+                continue;
+            }
+
+            ConfigurationSection effectsSection = profileSection.getConfigurationSection("effects");
+            if (effectsSection == null) {
+                logger.warning("Double jump profile '" + name + "' has no effects section, ignoring it");
+                continue;
+            }
+
+            String permission = profileSection.getString("permission", "");
+            Set<String> worlds = Set.copyOf(profileSection.getStringList("worlds"));
+            if (permission.isEmpty() && worlds.isEmpty()) {
+                logger.warning("Double jump profile '" + name + "' has no permission or worlds - it applies to everyone "
+                    + "and hides any profile listed after it");
+            }
+
+            DoubleJumpSettings.Effects effects = DoubleJumpSettings.Effects.load(effectsSection, logger)
+                .withDeliveryOf(defaults);
+            profiles.add(new JumpEffectProfile(name, permission, worlds, effects));
+        }
+        return List.copyOf(profiles);
+    }
+}
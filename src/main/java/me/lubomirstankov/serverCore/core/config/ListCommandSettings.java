@@ -0,0 +1,50 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+
+/**
+ * Settings of the "commands.list" section
+ *
+ * @param enabled whether /list is enabled
+ * @param permission permission required to use /list (empty for none)
+ * @param noPermissionMessage message sent without the permission
+ * @param headerLines the compiled header lines
+ * @param footerLines the compiled footer lines
+ * @param playerFormat the compiled line shown for each player
+ * @param emptyMessage message shown when nobody is online
+ */
+public record ListCommandSettings(
+    boolean enabled,
+    String permission,
+    Component noPermissionMessage,
+    List<CompiledTemplate> headerLines,
+    List<CompiledTemplate> footerLines,
+    CompiledTemplate playerFormat,
+    Component emptyMessage
+) {
+    static final String CONFIG_PATH = "commands.list";
+    private static final String DEFAULT_PLAYER_FORMAT = "<gray>• <white>{player}</white></gray>";
+
+    static ListCommandSettings load(ConfigurationSection section) {
+        if (section == null) {
+            return new ListCommandSettings(false, "", Component.empty(), List.of(), List.of(),
+                CompiledTemplate.compile(DEFAULT_PLAYER_FORMAT), Component.empty());
+        }
+
+        return new ListCommandSettings(
+            section.getBoolean("enabled", true),
+            section.getString("permission", ""),
+            MiniMessageCache.deserialize(section.getString("no-permission-message",
+                "<red>You don't have permission to use this command!</red>")),
+            CompiledTemplate.compileAll(section.getStringList("format.header")),
+            CompiledTemplate.compileAll(section.getStringList("format.footer")),
+            CompiledTemplate.compile(section.getString("format.player-format", DEFAULT_PLAYER_FORMAT)),
+            MiniMessageCache.deserialize(section.getString("format.empty-message", "<gray>No players online</gray>"))
+        );
+    }
+}
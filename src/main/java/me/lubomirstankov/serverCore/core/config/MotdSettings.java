@@ -0,0 +1,39 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+
+/**
+ * Settings of the "motd.player" section (message shown to players on join)
+ *
+ * @param enabled whether the MOTD is shown
+ * @param delayTicks delay after joining before the MOTD is shown
+ * @param lines the compiled MOTD lines
+ */
+public record MotdSettings(boolean enabled, int delayTicks, List<CompiledTemplate> lines) {
+    static final String CONFIG_PATH = "motd.player";
+
+    static MotdSettings load(ConfigurationSection section) {
+        if (section == null) {
+            return new MotdSettings(false, 0, List.of());
+        }
+
+        List<String> lines = section.getStringList("lines");
+
+        if (lines.isEmpty()) {
+            // Fallback to single line if list is empty
+            String singleLine = section.getString("message", "");
+            if (!singleLine.isEmpty()) {
+                lines = List.of(singleLine);
+            }
+        }
+
+        return new MotdSettings(
+            section.getBoolean("enabled", true),
+            section.getInt("delay-ticks", 20),  // Default 1 second
+            CompiledTemplate.compileAll(lines)
+        );
+    }
+}
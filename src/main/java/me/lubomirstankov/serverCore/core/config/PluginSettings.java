@@ -0,0 +1,46 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.logging.Logger;
+
+/**
+ * Immutable snapshot of the whole plugin configuration, parsed once from config.yml.
+ * Listeners read the current snapshot instead of walking the YAML tree on every event.
+ *
+ * @param joinMessage the "join-message" settings
+ * @param inventoryLock the "inventory-lock" settings
+ * @param doubleJump the "double-jump" settings
+ * @param listCommand the "commands.list" settings
+ * @param playerMotd the "motd.player" settings
+ * @param serverMotd the "motd.server" settings
+ * @param tabList the "tab-list" settings
+ */
+public record PluginSettings(
+    JoinMessageSettings joinMessage,
+    InventoryLockSettings inventoryLock,
+    DoubleJumpSettings doubleJump,
+    ListCommandSettings listCommand,
+    MotdSettings playerMotd,
+    ServerMotdSettings serverMotd,
+    TabListSettings tabList
+) {
+    /**
+     * Parse every section of the configuration
+     *
+     * @param root the configuration root
+     * @param logger logger for invalid values
+     * @return the parsed settings
+     */
+    public static PluginSettings load(ConfigurationSection root, Logger logger) {
+        return new PluginSettings(
+            JoinMessageSettings.load(root.getConfigurationSection(JoinMessageSettings.CONFIG_PATH), logger),
+            InventoryLockSettings.load(root.getConfigurationSection(InventoryLockSettings.CONFIG_PATH)),
+            DoubleJumpSettings.load(root.getConfigurationSection(DoubleJumpSettings.CONFIG_PATH), logger),
+            ListCommandSettings.load(root.getConfigurationSection(ListCommandSettings.CONFIG_PATH)),
+            MotdSettings.load(root.getConfigurationSection(MotdSettings.CONFIG_PATH)),
+            ServerMotdSettings.load(root.getConfigurationSection(ServerMotdSettings.CONFIG_PATH)),
+            TabListSettings.load(root.getConfigurationSection(TabListSettings.CONFIG_PATH))
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+
+/**
+ * Settings of the "motd.server" section (server list MOTD and player hover)
+ *
+ * @param enabled whether the server list is customized
+ * @param customMaxPlayers max players shown in the server list, or -1 for the real value
+ * @param motdLines the compiled MOTD lines (first two are used)
+ * @param hoverEnabled whether the player hover is replaced
+ * @param hoverLines the compiled player hover lines
+ * @param rateLimit the per-address ping rate limit
+ */
+public record ServerMotdSettings(
+    boolean enabled,
+    int customMaxPlayers,
+    List<CompiledTemplate> motdLines,
+    boolean hoverEnabled,
+    List<CompiledTemplate> hoverLines,
+    RateLimit rateLimit
+) {
+    static final String CONFIG_PATH = "motd.server";
+
+    static ServerMotdSettings load(ConfigurationSection section) {
+        if (section == null) {
+            return new ServerMotdSettings(false, -1, List.of(), false, List.of(), RateLimit.load(null));
+        }
+
+        ConfigurationSection hoverSection = section.getConfigurationSection("player-hover");
+
+        return new ServerMotdSettings(
+            section.getBoolean("enabled", true),
+            section.getInt("custom-max-players", -1),
+            CompiledTemplate.compileAll(section.getStringList("motd-lines")),
+            hoverSection != null && hoverSection.getBoolean("enabled", true),
+            hoverSection != null ? CompiledTemplate.compileAll(hoverSection.getStringList("lines")) : List.of(),
+            RateLimit.load(section.getConfigurationSection("rate-limit"))
+        );
+    }
+
+    /**
+     * What pings over the rate limit get
+     */
+    public enum OverLimitAction {
+        /** The static fallback MOTD */
+        FALLBACK,
+        /** No response at all */
+        CANCEL;
+
+        static OverLimitAction fromConfig(String value) {
+            return switch (value.toLowerCase()) {
+                case "cancel" -> CANCEL;
+                default -> FALLBACK;
+            };
+        }
+    }
+
+    /**
+     * Settings of the "motd.server.rate-limit" section
+     *
+     * @param enabled whether pings are rate limited per address
+     * @param burst pings an address may send at once
+     * @param perSecond pings per second an address may send after the burst
+     * @param action what pings over the limit get
+     * @param fallbackMotd the pre-rendered MOTD for pings over the limit
+     * @param maxTrackedAddresses addresses tracked at once
+     */
+    public record RateLimit(
+        boolean enabled,
+        int burst,
+        double perSecond,
+        OverLimitAction action,
+        Component fallbackMotd,
+        int maxTrackedAddresses
+    ) {
+        static RateLimit load(ConfigurationSection section) {
+            if (section == null) {
+                return new RateLimit(false, 5, 1.0, OverLimitAction.FALLBACK, Component.empty(), 4096);
+            }
+
+            return new RateLimit(
+                section.getBoolean("enabled", false),
+                Math.max(1, section.getInt("burst", 5)),
+                Math.max(0.01, section.getDouble("per-second", 1.0)),
+                OverLimitAction.fromConfig(section.getString("action", "fallback")),
+                MiniMessageCache.deserialize(section.getString("fallback-motd", "")),
+                Math.max(1, section.getInt("max-tracked-addresses", 4096))
+            );
+        }
+    }
+}
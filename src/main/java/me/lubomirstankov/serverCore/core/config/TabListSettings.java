@@ -0,0 +1,104 @@
+package me.lubomirstankov.serverCore.core.config;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.List;
+
+/**
+ * Settings of the "tab-list" section
+ *
+ * @param enabled whether the custom tab list is active
+ * @param updateIntervalTicks refresh period of each viewer, in ticks
+ * @param headerLines the compiled header lines
+ * @param footerLines the compiled footer lines
+ * @param fakePlayers the fake player settings
+ */
+public record TabListSettings(
+    boolean enabled,
+    int updateIntervalTicks,
+    List<CompiledTemplate> headerLines,
+    List<CompiledTemplate> footerLines,
+    FakePlayers fakePlayers
+) {
+    static final String CONFIG_PATH = "tab-list";
+
+    static TabListSettings load(ConfigurationSection section) {
+        if (section == null) {
+            return new TabListSettings(false, 20, List.of(), List.of(), FakePlayers.load(null));
+        }
+
+        return new TabListSettings(
+            section.getBoolean("enabled", true),
+            section.getInt("update-interval-ticks", 20),
+            CompiledTemplate.compileAll(section.getStringList("header")),
+            CompiledTemplate.compileAll(section.getStringList("footer")),
+            FakePlayers.load(section.getConfigurationSection("fake-players"))
+        );
+    }
+
+    /**
+     * Column layout of the fake player entries
+     */
+    public enum Layout {
+        /** All fake players in one list */
+        AUTO,
+        /** Left and right columns */
+        COLUMNS,
+        /** Left, center and right columns */
+        THREE_COLUMNS;
+
+        static Layout fromConfig(String value) {
+            return switch (value.toLowerCase()) {
+                case "three-columns" -> THREE_COLUMNS;
+                case "columns" -> COLUMNS;
+                default -> AUTO;
+            };
+        }
+    }
+
+    /**
+     * Settings of the "tab-list.fake-players" section
+     *
+     * @param enabled whether fake players are shown
+     * @param layout the column layout
+     * @param leftColumnLines the compiled left column lines
+     * @param centerColumnLines the compiled center column lines
+     * @param rightColumnLines the compiled right column lines
+     * @param playerLines the compiled lines of the single-list (auto) layout
+     * @param maxCenterPlayers real players shown before "...and X more" (three columns only), -1 for no limit
+     */
+    public record FakePlayers(
+        boolean enabled,
+        Layout layout,
+        List<CompiledTemplate> leftColumnLines,
+        List<CompiledTemplate> centerColumnLines,
+        List<CompiledTemplate> rightColumnLines,
+        List<CompiledTemplate> playerLines,
+        int maxCenterPlayers
+    ) {
+        static FakePlayers load(ConfigurationSection section) {
+            if (section == null) {
+                return new FakePlayers(false, Layout.AUTO, List.of(), List.of(), List.of(), List.of(), -1);
+            }
+
+            return new FakePlayers(
+                section.getBoolean("enabled", false),
+                Layout.fromConfig(section.getString("layout", "auto")),
+                CompiledTemplate.compileAll(section.getStringList("left-column")),
+                CompiledTemplate.compileAll(section.getStringList("center-column")),
+                CompiledTemplate.compileAll(section.getStringList("right-column")),
+                CompiledTemplate.compileAll(section.getStringList("players")),
+                section.getInt("max-center-players", -1)
+            );
+        }
+
+        /**
+         * @return the real player limit in effect, or -1 if real players are not limited
+         */
+        public int effectiveMaxCenterPlayers() {
+            // Only hide players in three-column mode
+            return enabled && layout == Layout.THREE_COLUMNS ? maxCenterPlayers : -1;
+        }
+    }
+}
@@ -1,62 +1,197 @@
 package me.lubomirstankov.serverCore.listeners;
 
+import com.destroystokyo.paper.event.player.PlayerJumpEvent;
 import me.lubomirstankov.serverCore.ServerCore;
-import net.kyori.adventure.key.Key;
-import net.kyori.adventure.sound.Sound;
+import me.lubomirstankov.serverCore.core.ReloadableListener;
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
+import me.lubomirstankov.serverCore.core.config.DoubleJumpSettings;
+import me.lubomirstankov.serverCore.utils.TimingWheel;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.title.Title;
-import org.bukkit.Color;
-import org.bukkit.FireworkEffect;
-import org.bukkit.Particle;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.entity.Firework;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerToggleFlightEvent;
-import org.bukkit.inventory.meta.FireworkMeta;
-import org.bukkit.potion.PotionEffect;
-import org.bukkit.potion.PotionEffectType;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.NumberConversions;
 import org.bukkit.util.Vector;
 
-import java.time.Duration;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Listener that handles double-jump boost with configurable effects.
  * Players double-tap space to boost forward.
+ *
+ * The second press is detected either by allowing flight while airborne and catching the
+ * flight toggle, or - with "packet-input" detection - from the client's input packets,
+ * which leaves the player's flight state alone entirely.
  */
-public class DoubleJumpListener implements Listener {
+public class DoubleJumpListener implements ReloadableListener {
     private final ServerCore plugin;
-    private final Map<UUID, Long> cooldowns;
-    private final Map<UUID, Long> fallDamageProtection;
-    private final Map<UUID, Boolean> isInAir;
-    private final Map<UUID, Boolean> pluginManagedFlight; // Track if flight was enabled by THIS plugin
+    private final Map<UUID, JumpState> states; // All per-player state, one lookup per event
+    private final List<JumpState> airborne; // Players off the ground - the only ones checked for landing
+    private final TimingWheel timingWheel; // Cooldowns, damage protection, flight safeguards and effect steps
+    private final JumpEffectDispatcher effectDispatcher; // Budgeted fireworks, particles and personal effects
+    private final BukkitTask tickTask;
 
-    private static final String CONFIG_PATH = "double-jump";
-    private static final long FALL_PROTECTION_DURATION = 5000; // 5 seconds in milliseconds
+    private DoubleJumpSettings.Detection detection;
+    private JumpInputTracker jumpInputTracker;
+
+    private static final long FALL_PROTECTION_TICKS = 100; // 5 seconds
+    private static final int TIMING_WHEEL_SLOTS = 256;
+    private static final double GROUND_CHECK_DEPTH = 0.5; // How far below the feet still counts as ground
+    private static final double GROUND_CHECK_EPSILON = 1.0E-4; // Keeps touching faces out of the probe
+
+    // Reused by isPlayerOnGround - movement is handled on the main thread only
+    private final Location groundCheckLocation = new Location(null, 0, 0, 0);
+    private final BoundingBox groundProbe = new BoundingBox();
 
     public DoubleJumpListener(ServerCore plugin) {
         this.plugin = plugin;
-        this.cooldowns = new HashMap<>();
-        this.fallDamageProtection = new HashMap<>();
-        this.isInAir = new HashMap<>();
-        this.pluginManagedFlight = new HashMap<>();
+        this.states = new ConcurrentHashMap<>();
+        this.airborne = new ArrayList<>();
+        this.timingWheel = new TimingWheel(TIMING_WHEEL_SLOTS);
+        this.tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        this.effectDispatcher = new JumpEffectDispatcher(plugin, timingWheel);
+        applyDetection(plugin.getSettings().doubleJump().detection());
+        effectDispatcher.applyBackend(plugin.getSettings().doubleJump().effects().backend());
+    }
+
+    @Override
+    public void reload(PluginSettings settings) {
+        // Other settings are read per event - only the detection mode holds state
+        applyDetection(settings.doubleJump().detection());
+        effectDispatcher.applyBackend(settings.doubleJump().effects().backend());
+    }
+
+    /**
+     * Take back flight we enabled for double-jump detection, so players don't keep it
+     * once the feature is disabled or the plugin shuts down
+     */
+    @Override
+    public void cleanup() {
+        tickTask.cancel();
+        revokeManagedFlight();
+        stopInputTracker();
+
+        states.clear();
+        airborne.clear();
+        timingWheel.clear();
+    }
+
+    /**
+     * Switch to a detection mode, falling back to flight detection when ProtocolLib is missing
+     *
+     * @param requested the configured detection mode
+     */
+    private void applyDetection(DoubleJumpSettings.Detection requested) {
+        if (requested == DoubleJumpSettings.Detection.PACKET_INPUT
+                && !plugin.getServer().getPluginManager().isPluginEnabled("ProtocolLib")) {
+            plugin.getLogger().warning("double-jump.detection 'packet-input' requires ProtocolLib, using 'flight' instead");
+            requested = DoubleJumpSettings.Detection.FLIGHT;
+        }
+
+        if (requested != detection) {
+            switchDetection(requested);
+        }
+    }
+
+    private void switchDetection(DoubleJumpSettings.Detection mode) {
+        // Airborne state means different things per mode - start over
+        revokeManagedFlight();
+        stopInputTracker();
+        for (JumpState state : states.values()) {
+            state.resetAirState();
+        }
+        airborne.clear();
+
+        if (mode == DoubleJumpSettings.Detection.PACKET_INPUT) {
+            jumpInputTracker = new JumpInputTracker(plugin);
+            jumpInputTracker.register();
+        }
+        detection = mode;
+    }
+
+    private void stopInputTracker() {
+        if (jumpInputTracker != null) {
+            jumpInputTracker.unregister();
+            jumpInputTracker = null;
+        }
+    }
+
+    private void revokeManagedFlight() {
+        for (JumpState state : states.values()) {
+            if (state.isFlightManaged() && state.player().isOnline()) {
+                state.player().setAllowFlight(false);
+                state.player().setFlying(false);
+            }
+            state.setFlightManaged(false);
+        }
+    }
+
+    private JumpState state(Player player) {
+        return states.computeIfAbsent(player.getUniqueId(), id -> new JumpState(player));
+    }
+
+    /**
+     * Packet-input detection: a jump press while airborne is the second jump
+     *
+     * @param player the player who pressed jump
+     */
+    private void onJumpPressed(Player player) {
+        DoubleJumpSettings settings = plugin.getSettings().doubleJump();
+        if (!settings.enabled() || detection != DoubleJumpSettings.Detection.PACKET_INPUT || !player.isOnline()) {
+            return;
+        }
+
+        // Allow creative/spectator mode to fly normally
+        if (player.getGameMode() == org.bukkit.GameMode.CREATIVE ||
+            player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
+            return;
+        }
+
+        // Only once per airtime - the first press from the ground is the normal jump
+        JumpState state = states.get(player.getUniqueId());
+        if (state == null || !state.isInAir() || state.isBoosted()) {
+            return;
+        }
+
+        // Flight from another plugin or command, elytra and vehicles use the jump key themselves
+        if (player.getAllowFlight() || player.isGliding() || player.isInsideVehicle()) {
+            return;
+        }
+
+        // Check permission (if set)
+        String permission = settings.permission();
+        if (!permission.isEmpty() && !player.hasPermission(permission)) {
+            return;
+        }
+
+        // Check cooldown
+        if (state.isOnCooldown()) {
+            return;
+        }
+
+        state.setBoosted(true);
+        boost(state, settings);
     }
 
     @EventHandler
     public void onPlayerToggleFlight(PlayerToggleFlightEvent event) {
         Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
 
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", false)) {
+        DoubleJumpSettings settings = plugin.getSettings().doubleJump();
+        if (!settings.enabled() || detection != DoubleJumpSettings.Detection.FLIGHT) {
             return;
         }
 
@@ -68,347 +203,295 @@ public class DoubleJumpListener implements Listener {
 
         // CRITICAL: Check if flight was enabled by another plugin
         // If flight is NOT managed by our plugin, let the other plugin handle it
-        Boolean isManagedByUs = pluginManagedFlight.get(playerId);
-        if (isManagedByUs == null || !isManagedByUs) {
+        JumpState state = states.get(player.getUniqueId());
+        if (state == null || !state.isFlightManaged()) {
             // Flight was enabled by another plugin or command - don't interfere!
             return;
         }
 
         // Check permission (if set)
-        String permission = section.getString("permission", "");
+        String permission = settings.permission();
         if (!permission.isEmpty() && !player.hasPermission(permission)) {
             return;
         }
 
         // Check cooldown
-        long cooldownMs = section.getLong("cooldown-ms", 3000);
-        long currentTime = System.currentTimeMillis();
-        Long lastJump = cooldowns.get(player.getUniqueId());
-
-        if (lastJump != null && (currentTime - lastJump) < cooldownMs) {
+        if (state.isOnCooldown()) {
             return;
         }
 
         // Cancel the flight toggle (prevent actual flight)
         event.setCancelled(true);
 
-        // Apply boost
-        double boostStrength = section.getDouble("boost-strength", 1.5);
-        double boostUpward = section.getDouble("boost-upward", 0.5);
-
-        Vector direction = player.getLocation().getDirection().normalize();
-        direction.multiply(boostStrength);
-        direction.setY(boostUpward);
-        player.setVelocity(direction);
-
         // IMMEDIATELY disable flight - no delay, no grace period
         player.setAllowFlight(false);
         player.setFlying(false);
-        pluginManagedFlight.put(playerId, false); // Mark as no longer managed by us
+        state.setFlightManaged(false); // Mark as no longer managed by us
 
-        // Force disable again after 1 tick to ensure it's disabled
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline() && pluginManagedFlight.getOrDefault(playerId, false)) {
-                player.setAllowFlight(false);
-                player.setFlying(false);
-            }
-        }, 1L);
-
-        // Force disable again after 5 ticks as final safeguard
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline() &&
-                player.getGameMode() != org.bukkit.GameMode.CREATIVE &&
-                player.getGameMode() != org.bukkit.GameMode.SPECTATOR &&
-                pluginManagedFlight.getOrDefault(playerId, false)) {
-                player.setAllowFlight(false);
-                player.setFlying(false);
-            }
-        }, 5L);
+        // Force disable again after 1 tick to ensure it's disabled,
+        // and after 5 ticks as final safeguard
+        timingWheel.schedule(1L, timeout -> reconcileFlight(state));
+        timingWheel.schedule(5L, timeout -> reconcileFlight(state));
+
+        boost(state, settings);
+    }
+
+    /**
+     * Disable flight again if something re-enabled it for us after a double jump
+     *
+     * @param state the player's state
+     */
+    private void reconcileFlight(JumpState state) {
+        Player player = state.player();
+        if (player.isOnline() &&
+            player.getGameMode() != org.bukkit.GameMode.CREATIVE &&
+            player.getGameMode() != org.bukkit.GameMode.SPECTATOR &&
+            state.isFlightManaged()) {
+            player.setAllowFlight(false);
+            player.setFlying(false);
+        }
+    }
+
+    /**
+     * Launch the player and start cooldown and damage protection
+     *
+     * @param state the player's state
+     * @param settings the double jump settings
+     */
+    private void boost(JumpState state, DoubleJumpSettings settings) {
+        Player player = state.player();
+
+        // Apply boost
+        Vector direction = player.getLocation().getDirection().normalize();
+        direction.multiply(settings.boostStrength());
+        direction.setY(settings.boostUpward());
+        player.setVelocity(direction);
 
         // Update cooldown
-        cooldowns.put(player.getUniqueId(), currentTime);
+        long cooldownTicks = (settings.cooldownMs() + 49) / 50;
+        if (cooldownTicks > 0) {
+            state.startCooldown(timingWheel.schedule(cooldownTicks, timeout -> onCooldownEnded(state, timeout)));
+        }
 
         // Add fall damage protection for 5 seconds after double jump
-        fallDamageProtection.put(player.getUniqueId(), currentTime);
+        state.startProtection(timingWheel.schedule(FALL_PROTECTION_TICKS, state::endProtection));
 
         // Reset fall distance to prevent fall damage from the boost
         player.setFallDistance(0f);
 
         // Apply all configured effects
-        ConfigurationSection effectsSection = section.getConfigurationSection("effects");
-        if (effectsSection != null) {
-            applyEffects(player, effectsSection);
-        }
+        effectDispatcher.dispatch(player, state.effects(settings));
     }
 
-    private void applyEffects(Player player, ConfigurationSection effectsSection) {
-        // Fireworks
-        ConfigurationSection fireworkSection = effectsSection.getConfigurationSection("fireworks");
-        if (fireworkSection != null && fireworkSection.getBoolean("enabled", false)) {
-            spawnFireworks(player, fireworkSection);
-        }
+    private void onCooldownEnded(JumpState state, TimingWheel.Timeout timeout) {
+        state.endCooldown(timeout);
 
-        // Particles
-        ConfigurationSection particleSection = effectsSection.getConfigurationSection("particles");
-        if (particleSection != null && particleSection.getBoolean("enabled", false)) {
-            spawnParticles(player, particleSection);
+        Component readyMessage = plugin.getSettings().doubleJump().readyMessage();
+        if (readyMessage != null && state.player().isOnline()) {
+            state.player().sendActionBar(readyMessage);
         }
+    }
 
-        // Potion Effects
-        ConfigurationSection potionSection = effectsSection.getConfigurationSection("potion-effects");
-        if (potionSection != null && potionSection.getBoolean("enabled", false)) {
-            applyPotionEffects(player, potionSection);
-        }
+    /**
+     * Start tracking a player who jumped
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerJump(PlayerJumpEvent event) {
+        startTracking(event.getPlayer());
+    }
 
-        // Action Bar
-        ConfigurationSection actionBarSection = effectsSection.getConfigurationSection("action-bar");
-        if (actionBarSection != null && actionBarSection.getBoolean("enabled", false)) {
-            showActionBar(player, actionBarSection);
+    /**
+     * Catch players leaving the ground without jumping (walking off edges, knockback).
+     * Head turns and grounded movement exit on the first check - airborne players are
+     * checked once per tick by {@link #checkAirborne()} instead of on every move.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Player player = event.getPlayer();
+        // Swimming counts as ground - tracking starts once the player leaves the liquid
+        if (!event.hasChangedPosition() || player.isOnGround() || player.isInWater() || player.isInLava()) {
+            return;
         }
+        startTracking(player);
+    }
 
-        // Title
-        ConfigurationSection titleSection = effectsSection.getConfigurationSection("title");
-        if (titleSection != null && titleSection.getBoolean("enabled", false)) {
-            showTitle(player, titleSection);
+    private void startTracking(Player player) {
+        JumpState state = state(player);
+        if (state.isTracked()) {
+            return;
         }
-
-        // Sound
-        ConfigurationSection soundSection = effectsSection.getConfigurationSection("sound");
-        if (soundSection != null && soundSection.getBoolean("enabled", false)) {
-            playSound(player, soundSection);
+        // Flight from another plugin or command - the jump key is theirs
+        if (player.getAllowFlight() && !state.isFlightManaged()) {
+            return;
         }
-    }
-
-    private void spawnParticles(Player player, ConfigurationSection particleSection) {
-        try {
-            String particleType = particleSection.getString("type", "FIREWORKS_SPARK");
-            int count = particleSection.getInt("count", 30);
-            double spread = particleSection.getDouble("spread", 0.5);
-            double speed = particleSection.getDouble("speed", 0.1);
-
-            Particle particle = Particle.valueOf(particleType);
-            player.getWorld().spawnParticle(
-                    particle,
-                    player.getLocation(),
-                    count,
-                    spread, spread, spread,
-                    speed
-            );
-        } catch (IllegalArgumentException e) {
-            plugin.getLogger().warning("Invalid particle type: " + e.getMessage());
+        if (canDoubleJump(player, plugin.getSettings().doubleJump())) {
+            state.setTracked(true);
+            airborne.add(state);
         }
     }
 
-    private void applyPotionEffects(Player player, ConfigurationSection potionSection) {
-        List<Map<?, ?>> effects = potionSection.getMapList("effects");
-
-        for (Map<?, ?> effectMap : effects) {
-            try {
-                String type = (String) effectMap.get("type");
-                Object durationObj = effectMap.get("duration");
-                Object amplifierObj = effectMap.get("amplifier");
-
-                int duration = (durationObj instanceof Number) ? ((Number) durationObj).intValue() : 40;
-                int amplifier = (amplifierObj instanceof Number) ? ((Number) amplifierObj).intValue() : 0;
-
-                PotionEffectType potionType = PotionEffectType.getByKey(org.bukkit.NamespacedKey.minecraft(type.toLowerCase()));
-                if (potionType != null) {
-                    player.addPotionEffect(new PotionEffect(potionType, duration, amplifier, false, false, true));
-                } else {
-                    plugin.getLogger().warning("Invalid potion effect type: " + type);
-                }
-            } catch (Exception e) {
-                plugin.getLogger().warning("Error applying potion effect: " + e.getMessage());
-            }
+    private boolean canDoubleJump(Player player, DoubleJumpSettings settings) {
+        if (!settings.enabled()) {
+            return false;
         }
-    }
-
-    private void showActionBar(Player player, ConfigurationSection actionBarSection) {
-        String message = actionBarSection.getString("message", "<green>Double Jump!</green>");
-        Component component = MiniMessage.miniMessage().deserialize(message);
-        player.sendActionBar(component);
-    }
-
-    private void showTitle(Player player, ConfigurationSection titleSection) {
-        String titleText = titleSection.getString("title", "");
-        String subtitleText = titleSection.getString("subtitle", "");
-        int fadeIn = titleSection.getInt("fade-in", 5);
-        int stay = titleSection.getInt("stay", 15);
-        int fadeOut = titleSection.getInt("fade-out", 10);
-
-        Component title = MiniMessage.miniMessage().deserialize(titleText);
-        Component subtitle = MiniMessage.miniMessage().deserialize(subtitleText);
-
-        Title.Times times = Title.Times.times(
-                Duration.ofMillis(fadeIn * 50L),
-                Duration.ofMillis(stay * 50L),
-                Duration.ofMillis(fadeOut * 50L)
-        );
-
-        player.showTitle(Title.title(title, subtitle, times));
-    }
-
-    private void spawnFireworks(Player player, ConfigurationSection fireworkSection) {
-        int count = fireworkSection.getInt("count", 3);
-        List<String> colorStrings = fireworkSection.getStringList("colors");
-        String effectType = fireworkSection.getString("type", "BALL_LARGE");
 
-        FireworkEffect.Type type;
-        try {
-            type = FireworkEffect.Type.valueOf(effectType);
-        } catch (IllegalArgumentException e) {
-            type = FireworkEffect.Type.BALL_LARGE;
-            plugin.getLogger().warning("Invalid firework type: " + effectType);
+        // Allow creative/spectator mode to fly normally
+        if (player.getGameMode() == org.bukkit.GameMode.CREATIVE ||
+            player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
+            return false;
         }
 
-        // Parse colors
-        Color[] colors = colorStrings.stream()
-                .map(this::parseColor)
-                .filter(Objects::nonNull)
-                .toArray(Color[]::new);
+        // Check permission (if set)
+        String permission = settings.permission();
+        return permission.isEmpty() || player.hasPermission(permission);
+    }
 
-        if (colors.length == 0) {
-            colors = new Color[]{Color.RED, Color.BLUE, Color.GREEN};
+    private void tick() {
+        if (jumpInputTracker != null) {
+            pollInputTracker();
         }
+        effectDispatcher.tick();
+        timingWheel.advance();
+        checkAirborne();
+    }
 
-        FireworkEffect effect = FireworkEffect.builder()
-                .with(type)
-                .withColor(colors)
-                .withFlicker()
-                .build();
-
-        for (int i = 0; i < count; i++) {
-            plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                Firework firework = player.getWorld().spawn(player.getLocation(), Firework.class);
-                FireworkMeta meta = firework.getFireworkMeta();
-                meta.addEffect(effect);
-                meta.setPower(0);
-                firework.setFireworkMeta(meta);
-
-                // Detonate immediately for visual effect
-                plugin.getServer().getScheduler().runTaskLater(plugin, firework::detonate, 1L);
-            }, i * 2L);
+    /**
+     * Handle the jump presses queued since the last tick. If the tracker could not read an
+     * input packet, this server's protocol doesn't match - report it once and fall back to
+     * flight detection until the next reload.
+     */
+    private void pollInputTracker() {
+        RuntimeException failure = jumpInputTracker.readFailure();
+        if (failure != null) {
+            plugin.getLogger().warning("Failed to read player input packets, using double-jump.detection 'flight' instead: "
+                + failure.getMessage());
+            switchDetection(DoubleJumpSettings.Detection.FLIGHT);
+            return;
         }
+        jumpInputTracker.drainPresses(this::onJumpPressed);
     }
 
-    private void playSound(Player player, ConfigurationSection soundSection) {
-        try {
-            String soundType = soundSection.getString("type", "ENTITY_FIREWORK_ROCKET_LAUNCH");
-            float volume = (float) soundSection.getDouble("volume", 0.8);
-            float pitch = (float) soundSection.getDouble("pitch", 1.2);
+    /**
+     * Per-tick landing check of the airborne players. Players leave the set once they are
+     * back on the ground.
+     */
+    private void checkAirborne() {
+        if (airborne.isEmpty()) {
+            return;
+        }
 
-            // Convert ENTITY_FIREWORK_ROCKET_LAUNCH to entity.firework_rocket.launch format
-            String soundKey = soundType.toLowerCase().replace("_", ".");
+        Iterator<JumpState> iterator = airborne.iterator();
+        while (iterator.hasNext()) {
+            JumpState state = iterator.next();
+            Player player = state.player();
+            if (!player.isOnline()) {
+                iterator.remove();
+                continue;
+            }
 
-            Sound sound = Sound.sound(Key.key(soundKey), Sound.Source.PLAYER, volume, pitch);
-            player.playSound(sound);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Invalid sound type in double-jump config: " + e.getMessage());
-        }
-    }
+            // Switched to creative/spectator mid-air - they fly on their own now
+            if (player.getGameMode() == org.bukkit.GameMode.CREATIVE ||
+                player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
+                state.resetAirState();
+                state.setFlightManaged(false);
+                iterator.remove();
+                continue;
+            }
 
-    private Color parseColor(String hex) {
-        try {
-            hex = hex.replace("#", "");
-            int r = Integer.parseInt(hex.substring(0, 2), 16);
-            int g = Integer.parseInt(hex.substring(2, 4), 16);
-            int b = Integer.parseInt(hex.substring(4, 6), 16);
-            return Color.fromRGB(r, g, b);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Invalid color format: " + hex);
-            return null;
+            if (updateAirState(state)) {
+                state.setTracked(false);
+                iterator.remove();
+            }
         }
     }
 
     /**
      * Enable flight for players when they leave the ground (for double jump detection)
      * Flight is ONLY enabled when jumping, and IMMEDIATELY disabled when landing
+     *
+     * @param state the state of an airborne player
+     * @return true once the player is back on the ground and no longer needs checking
      */
-    @EventHandler
-    public void onPlayerMove(org.bukkit.event.player.PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        UUID playerId = player.getUniqueId();
-
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", false)) {
-            return;
-        }
-
-        // Allow creative/spectator mode to fly normally
-        if (player.getGameMode() == org.bukkit.GameMode.CREATIVE ||
-            player.getGameMode() == org.bukkit.GameMode.SPECTATOR) {
-            return;
-        }
+    private boolean updateAirState(JumpState state) {
+        Player player = state.player();
 
-        // Check permission (if set)
-        String permission = section.getString("permission", "");
-        if (!permission.isEmpty() && !player.hasPermission(permission)) {
-            return;
+        // Flight from another plugin or command - stop tracking, a later move re-adds the player
+        if (player.getAllowFlight() && !state.isFlightManaged()) {
+            state.setInAir(false);
+            state.setBoosted(false);
+            return true;
         }
 
         // Check if player is on ground
         boolean currentlyOnGround = isPlayerOnGround(player);
-        Boolean wasInAir = isInAir.getOrDefault(playerId, false);
+        boolean wasInAir = state.isInAir();
 
-        // Player just left the ground (jumped) - enable flight for double-jump detection
+        // Packet-input detection only tracks airtime - flight is never touched
+        if (detection == DoubleJumpSettings.Detection.PACKET_INPUT) {
+            if (!currentlyOnGround) {
+                state.setInAir(true);
+                return false;
+            }
+            if (wasInAir) {
+                state.setInAir(false);
+                state.setBoosted(false);
+                return true;
+            }
+            // Never got high enough to count as airborne - a later move re-adds the player
+            return true;
+        }
+
+        // Player just left the ground (jumped) - enable flight for double-jump detection.
+        // Flight enabled by another plugin was handled above, so any flight here is ours.
         if (!currentlyOnGround && !wasInAir) {
-            // Before enabling flight, check if it was already enabled by another plugin
+            state.setInAir(true);
             if (!player.getAllowFlight()) {
-                // Flight is not enabled, we can safely enable it for double jump
-                isInAir.put(playerId, true);
                 player.setAllowFlight(true);
-                pluginManagedFlight.put(playerId, true); // Mark as managed by us
-            } else {
-                // Flight is already enabled (by another plugin) - don't track this as our flight
-                isInAir.put(playerId, false);
-                pluginManagedFlight.put(playerId, false);
             }
+            state.setFlightManaged(true); // Mark as managed by us
         }
 
-        // Player just landed - ONLY disable flight if WE enabled it
-        if (currentlyOnGround && wasInAir) {
-            isInAir.put(playerId, false);
+        // AGGRESSIVE CHECK: Only if we're managing the flight
+        // If player is somehow flying and shouldn't be, force disable
+        if (state.isFlightManaged() && player.isFlying() && !player.getAllowFlight()) {
+            player.setFlying(false);
+        }
 
-            // Only disable if we're managing the flight
-            if (pluginManagedFlight.getOrDefault(playerId, false)) {
-                player.setAllowFlight(false);
-                player.setFlying(false);
-                pluginManagedFlight.put(playerId, false);
-            }
+        if (!currentlyOnGround) {
+            return false;
         }
 
-        // AGGRESSIVE CHECK: Only if we're managing the flight
-        if (pluginManagedFlight.getOrDefault(playerId, false)) {
-            // If player is somehow flying and shouldn't be, force disable
-            if (player.isFlying() && !player.getAllowFlight()) {
-                player.setFlying(false);
-            }
+        // Player just landed - ONLY disable flight if WE enabled it
+        if (wasInAir) {
+            state.setInAir(false);
 
-            // Extra safeguard: If player is on ground and has flight enabled by us, disable it
-            if (currentlyOnGround && player.getAllowFlight()) {
+            // Only disable if we're managing the flight
+            if (state.isFlightManaged()) {
                 player.setAllowFlight(false);
                 player.setFlying(false);
-                isInAir.put(playerId, false);
-                pluginManagedFlight.put(playerId, false);
+                state.setFlightManaged(false);
             }
+            return true;
         }
+
+        // Never got high enough to count as airborne (or in liquid) - a later move re-adds the player
+        return true;
     }
 
     /**
-     * Check if player is on the ground
+     * Check if player is on the ground.
+     * Runs every tick for every airborne player, so the common path allocates nothing: the position
+     * goes into a reused Location, the probe is a reused BoundingBox and blocks are looked up by
+     * coordinates. Only partial blocks (slabs, stairs, fences...) are fetched as Block objects to
+     * test their collision shape.
+     *
      * @param player the player to check
      * @return true if player is on ground, false otherwise
      */
     private boolean isPlayerOnGround(Player player) {
-        org.bukkit.Location loc = player.getLocation().clone();
-
-        // Check multiple points below the player for better accuracy
-        // (handles edge cases like standing on edges)
-        for (double offset = 0.0; offset <= 0.5; offset += 0.1) {
-            org.bukkit.block.Block blockBelow = loc.clone().subtract(0, offset, 0).getBlock();
-            if (blockBelow.getType().isSolid()) {
-                return true;
-            }
+        // Standing on anything - including slabs, stairs and other entities' hitboxes
+        if (player.isOnGround()) {
+            return true;
         }
 
         // Check if player is in liquid (water/lava) - they shouldn't have flight enabled
@@ -416,23 +499,60 @@ public class DoubleJumpListener implements Listener {
             return true;
         }
 
-        // Check vertical velocity - if nearly zero, player is likely on ground or platform
-        double velocityY = player.getVelocity().getY();
-        if (Math.abs(velocityY) < 0.001) {
-            return true;
-        }
+        player.getLocation(groundCheckLocation);
+        World world = groundCheckLocation.getWorld();
+        double x = groundCheckLocation.getX();
+        double y = groundCheckLocation.getY();
+        double z = groundCheckLocation.getZ();
 
-        // Check if velocity is exactly 0 and player is descending (on platform/ground)
-        if (velocityY <= 0 && velocityY > -0.1) {
-            org.bukkit.block.Block blockBelow = loc.clone().subtract(0, 0.2, 0).getBlock();
-            if (blockBelow.getType().isSolid()) {
-                return true;
+        // The player's footprint from just below the feet to half a block down (handles standing on
+        // edges, and landing within the next move). Shrunk by an epsilon so a wall the player is
+        // pressed against is never part of the probe.
+        double halfWidth = player.getWidth() / 2 - GROUND_CHECK_EPSILON;
+        groundProbe.resize(
+            x - halfWidth, y - GROUND_CHECK_DEPTH, z - halfWidth,
+            x + halfWidth, y - GROUND_CHECK_EPSILON, z + halfWidth
+        );
+
+        int minX = NumberConversions.floor(groundProbe.getMinX());
+        int maxX = NumberConversions.floor(groundProbe.getMaxX());
+        int minY = NumberConversions.floor(groundProbe.getMinY());
+        int maxY = NumberConversions.floor(groundProbe.getMaxY());
+        int minZ = NumberConversions.floor(groundProbe.getMinZ());
+        int maxZ = NumberConversions.floor(groundProbe.getMaxZ());
+
+        for (int blockX = minX; blockX <= maxX; blockX++) {
+            for (int blockZ = minZ; blockZ <= maxZ; blockZ++) {
+                for (int blockY = minY; blockY <= maxY; blockY++) {
+                    Material type = world.getType(blockX, blockY, blockZ);
+                    if (!type.isSolid()) {
+                        continue;
+                    }
+                    // Full cube - the probe reaches into it
+                    if (type.isOccluding()) {
+                        return true;
+                    }
+                    if (collidesWithShape(world, blockX, blockY, blockZ)) {
+                        return true;
+                    }
+                }
             }
         }
 
         return false;
     }
 
+    /**
+     * Test the probe against a partial block's real collision shape
+     */
+    private boolean collidesWithShape(World world, int blockX, int blockY, int blockZ) {
+        // Collision shapes are relative to the block's corner
+        groundProbe.shift(-blockX, -blockY, -blockZ);
+        boolean collides = world.getBlockAt(blockX, blockY, blockZ).getCollisionShape().overlaps(groundProbe);
+        groundProbe.shift(blockX, blockY, blockZ);
+        return collides;
+    }
+
     /**
      * Prevent fall damage and firework explosion damage for players who recently used double jump
      */
@@ -450,18 +570,21 @@ public class DoubleJumpListener implements Listener {
             return;
         }
 
-        // Check if player has damage protection from double jump
-        Long protectionTime = fallDamageProtection.get(player.getUniqueId());
-        if (protectionTime != null) {
-            long currentTime = System.currentTimeMillis();
+        // If protection from double jump is still active, cancel the damage
+        JumpState state = states.get(player.getUniqueId());
+        if (state != null && state.isDamageProtected()) {
+            event.setCancelled(true);
+        }
+    }
 
-            // If protection is still active, cancel the damage
-            if ((currentTime - protectionTime) < FALL_PROTECTION_DURATION) {
-                event.setCancelled(true);
-            } else {
-                // Protection expired, remove it
-                fallDamageProtection.remove(player.getUniqueId());
-            }
+    /**
+     * Profiles can be per world - resolve again on the next jump
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        JumpState state = states.get(event.getPlayer().getUniqueId());
+        if (state != null) {
+            state.invalidateEffects();
         }
     }
 
@@ -474,30 +597,20 @@ public class DoubleJumpListener implements Listener {
         Player player = event.getPlayer();
         UUID playerId = player.getUniqueId();
 
+        // Clean up all tracking data - the airborne list drops offline players on its next pass
+        JumpState state = states.remove(playerId);
+        if (state != null) {
+            state.cancelTimers();
+        }
+
         // Only disable flight if WE enabled it
-        if (pluginManagedFlight.getOrDefault(playerId, false)) {
+        if (state != null && state.isFlightManaged()) {
             player.setAllowFlight(false);
             player.setFlying(false);
         }
 
-        // Clean up all tracking data
-        cooldowns.remove(playerId);
-        fallDamageProtection.remove(playerId);
-        isInAir.remove(playerId);
-        pluginManagedFlight.remove(playerId);
-    }
-
-    // Easter egg
-    @EventHandler
-    public void onDamage(EntityDamageByEntityEvent e) {
-        if ((e.getDamager() instanceof Player)&&(e.getEntity() instanceof Player)) {
-            Player damaged = (Player) e.getEntity();
-            Player damager = (Player) e.getDamager();
-            if (damaged.getName().equals("Th3TrOLLeR")) {
-                damager.sendMessage("Don't hit Th3TrOLLeR!!!");
-                e.setCancelled(true);
-            }
-
+        if (jumpInputTracker != null) {
+            jumpInputTracker.forget(playerId);
         }
     }
 }
@@ -0,0 +1,25 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+
+/**
+ * Easter egg, independent of any config feature
+ */
+public class EasterEggListener implements Listener {
+
+    @EventHandler
+    public void onDamage(EntityDamageByEntityEvent e) {
+        if ((e.getDamager() instanceof Player)&&(e.getEntity() instanceof Player)) {
+            Player damaged = (Player) e.getEntity();
+            Player damager = (Player) e.getDamager();
+            if (damaged.getName().equals("Th3TrOLLeR")) {
+                damager.sendMessage("Don't hit Th3TrOLLeR!!!");
+                e.setCancelled(true);
+            }
+
+        }
+    }
+}
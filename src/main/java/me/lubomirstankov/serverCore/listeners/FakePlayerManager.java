@@ -6,6 +6,8 @@ import com.comphenix.protocol.ProtocolManager;
 import com.comphenix.protocol.events.PacketContainer;
 import com.comphenix.protocol.wrappers.*;
 import me.lubomirstankov.serverCore.ServerCore;
+import me.lubomirstankov.serverCore.utils.BoundedCache;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import org.bukkit.entity.Player;
 
@@ -19,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Key Features:
  * - Global fake players visible to all online players
  * - Flicker-free updates using UPDATE_DISPLAY_NAME action
+ * - Batched updates: one add/update/remove packet per viewer per cycle
  * - Proper packet construction for MC 1.21.x PLAYER_INFO packets
  * - Thread-safe operations with ConcurrentHashMap
  * - Automatic cleanup on player disconnect and plugin disable
@@ -39,11 +42,28 @@ public class FakePlayerManager {
      */
     private final Map<UUID, Map<UUID, FakePlayerEntry>> viewerFakePlayersCache;
 
+    /**
+     * Maps display name Component (by identity) -> pre-built WrappedChatComponent.
+     * Rendered Components are shared between viewers and cycles, so the same instance
+     * would otherwise be run through Gson thousands of times per minute.
+     */
+    private final BoundedCache<DisplayNameKey, WrappedChatComponent> displayNameCache;
+
+    /**
+     * Maps viewer UUID -> Set of real player UUIDs currently unlisted for that viewer.
+     * Lets visibility updates send only the players whose state actually changed.
+     */
+    private final Map<UUID, Set<UUID>> viewerHiddenPlayers;
+
+    private static final int DISPLAY_NAME_CACHE_SIZE = 1024;
+
     public FakePlayerManager(ServerCore plugin) {
         this.plugin = plugin;
         this.protocolManager = ProtocolLibrary.getProtocolManager();
         this.viewerFakePlayers = new ConcurrentHashMap<>();
         this.viewerFakePlayersCache = new ConcurrentHashMap<>();
+        this.displayNameCache = new BoundedCache<>(DISPLAY_NAME_CACHE_SIZE);
+        this.viewerHiddenPlayers = new ConcurrentHashMap<>();
     }
 
     /**
@@ -53,32 +73,13 @@ public class FakePlayerManager {
      * In 1.21.x, UPDATE_LISTED is REQUIRED to make the player visible!
      * Without it, the player is added but remains invisible in the client.
      *
+     * Prefer {@link #batch(Player)} when changing several entries at once.
+     *
      * @param viewer The player who will see this fake player
      * @param entry The fake player data to add
      */
     public void addFakePlayer(Player viewer, FakePlayerEntry entry) {
-        if (viewer == null || !viewer.isOnline() || entry == null) {
-            return;
-        }
-
-        // Track this fake player for the viewer
-        viewerFakePlayers
-            .computeIfAbsent(viewer.getUniqueId(), k -> ConcurrentHashMap.newKeySet())
-            .add(entry.uuid());
-
-        // Cache the entry for future updates
-        viewerFakePlayersCache
-            .computeIfAbsent(viewer.getUniqueId(), k -> new ConcurrentHashMap<>())
-            .put(entry.uuid(), entry);
-
-        // Send ADD packet with all initial data
-        sendPlayerInfoPacket(viewer, entry, EnumSet.of(
-            EnumWrappers.PlayerInfoAction.ADD_PLAYER,
-            EnumWrappers.PlayerInfoAction.UPDATE_LISTED,
-            EnumWrappers.PlayerInfoAction.UPDATE_LATENCY,
-            EnumWrappers.PlayerInfoAction.UPDATE_DISPLAY_NAME,
-            EnumWrappers.PlayerInfoAction.UPDATE_GAME_MODE
-        ));
+        batch(viewer).add(entry).flush();
     }
 
     /**
@@ -91,35 +92,7 @@ public class FakePlayerManager {
      * @param entry The updated fake player data
      */
     public void updateFakePlayer(Player viewer, FakePlayerEntry entry) {
-        if (viewer == null || !viewer.isOnline() || entry == null) {
-            return;
-        }
-
-        // Check if this fake player exists for this viewer
-        Set<UUID> fakePlayers = viewerFakePlayers.get(viewer.getUniqueId());
-        if (fakePlayers == null || !fakePlayers.contains(entry.uuid())) {
-            // Not added yet, add it instead
-            addFakePlayer(viewer, entry);
-            return;
-        }
-
-        // Check if the entry actually changed (avoid unnecessary packets)
-        Map<UUID, FakePlayerEntry> cache = viewerFakePlayersCache.get(viewer.getUniqueId());
-        if (cache != null) {
-            FakePlayerEntry cached = cache.get(entry.uuid());
-            if (cached != null && cached.equals(entry)) {
-                // No change, skip update
-                return;
-            }
-            // Update cache
-            cache.put(entry.uuid(), entry);
-        }
-
-        // Send UPDATE packet (no ADD_PLAYER = no flicker)
-        sendPlayerInfoPacket(viewer, entry, EnumSet.of(
-            EnumWrappers.PlayerInfoAction.UPDATE_LATENCY,
-            EnumWrappers.PlayerInfoAction.UPDATE_DISPLAY_NAME
-        ));
+        batch(viewer).update(entry).flush();
     }
 
     /**
@@ -130,24 +103,19 @@ public class FakePlayerManager {
      * @param fakeUuid The UUID of the fake player to remove
      */
     public void removeFakePlayer(Player viewer, UUID fakeUuid) {
-        if (viewer == null || fakeUuid == null) {
-            return;
-        }
-
-        // Untrack this fake player
-        Set<UUID> fakePlayers = viewerFakePlayers.get(viewer.getUniqueId());
-        if (fakePlayers != null) {
-            fakePlayers.remove(fakeUuid);
-        }
-
-        // Remove from cache
-        Map<UUID, FakePlayerEntry> cache = viewerFakePlayersCache.get(viewer.getUniqueId());
-        if (cache != null) {
-            cache.remove(fakeUuid);
-        }
+        batch(viewer).remove(fakeUuid).flush();
+    }
 
-        // Send REMOVE packet
-        sendRemovePacket(viewer, fakeUuid);
+    /**
+     * Starts collecting fake player changes for a viewer.
+     * All adds, updates and removes queued on the batch are sent on {@link Batch#flush()}
+     * as at most one add packet, one update packet and one remove packet.
+     *
+     * @param viewer The player whose tab list will change
+     * @return A new batch for this viewer
+     */
+    public Batch batch(Player viewer) {
+        return new Batch(viewer);
     }
 
     /**
@@ -186,22 +154,26 @@ public class FakePlayerManager {
     }
 
     /**
-     * Sends a PLAYER_INFO packet with specified actions.
+     * Sends a PLAYER_INFO packet with specified actions for several fake players.
      * For ProtocolLib 5.4.0 on MC 1.21.x, uses the PLAYER_INFO packet type.
      *
      * Protocol breakdown:
      * - Field 0: EnumSet<PlayerInfoAction> - Which fields to update
-     * - Field 1: List<PlayerInfoData> - The actual player data
+     * - Field 1: List<PlayerInfoData> - The actual player data (any number of entries)
      *
      * @param viewer The player to send the packet to
-     * @param entry The fake player data
+     * @param entries The fake player data
      * @param actions Which actions to perform (ADD_PLAYER, UPDATE_DISPLAY_NAME, etc.)
      */
     private void sendPlayerInfoPacket(
         Player viewer,
-        FakePlayerEntry entry,
+        List<FakePlayerEntry> entries,
         EnumSet<EnumWrappers.PlayerInfoAction> actions
     ) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
         try {
             // Create the packet container for PLAYER_INFO
             // In 1.21.x + ProtocolLib 5.4.0, this handles both old and new protocol versions
@@ -212,31 +184,31 @@ public class FakePlayerManager {
             // Set the actions to perform
             packet.getPlayerInfoActions().write(0, actions);
 
-            // Create the game profile (UUID + name)
-            // Name is used for sorting in the tab list
-            WrappedGameProfile profile = new WrappedGameProfile(
-                entry.uuid(),
-                entry.name()
-            );
-
-            // Convert Adventure Component to JSON for ProtocolLib
-            // MC 1.21.x uses JSON text components internally
-            String displayNameJson = GsonComponentSerializer.gson()
-                .serialize(entry.displayName());
-            WrappedChatComponent displayName = WrappedChatComponent.fromJson(displayNameJson);
-
-            // Create the player info data object
-            // Constructor: (profile, latency, gameMode, displayName, chatSession)
-            PlayerInfoData data = new PlayerInfoData(
-                profile,
-                entry.ping(),
-                entry.gameMode(),
-                displayName,
-                null  // RemoteChatSessionData - not needed for fake players
-            );
+            List<PlayerInfoData> dataList = new ArrayList<>(entries.size());
+            for (FakePlayerEntry entry : entries) {
+                // Create the game profile (UUID + name)
+                // Name is used for sorting in the tab list
+                WrappedGameProfile profile = new WrappedGameProfile(
+                    entry.uuid(),
+                    entry.name()
+                );
+
+                // Convert Adventure Component to a ProtocolLib chat component (cached per distinct name)
+                WrappedChatComponent displayName = toWrappedComponent(entry.displayName());
+
+                // Create the player info data object
+                // Constructor: (profile, latency, gameMode, displayName, chatSession)
+                dataList.add(new PlayerInfoData(
+                    profile,
+                    entry.ping(),
+                    entry.gameMode(),
+                    displayName,
+                    null  // RemoteChatSessionData - not needed for fake players
+                ));
+            }
 
             // Set the player data list (field 1)
-            packet.getPlayerInfoDataLists().write(1, List.of(data));
+            packet.getPlayerInfoDataLists().write(1, dataList);
 
             // Send the packet to the viewer
             protocolManager.sendServerPacket(viewer, packet);
@@ -244,20 +216,23 @@ public class FakePlayerManager {
         } catch (Exception e) {
             plugin.getLogger().warning(
                 "Failed to send fake player packet to " + viewer.getName() +
-                " for fake player " + entry.name() + ": " + e.getMessage()
+                " for " + entries.size() + " fake players: " + e.getMessage()
             );
         }
     }
 
     /**
-     * Sends a PLAYER_INFO_REMOVE packet to remove a single fake player.
-     * In 1.19.3+, removal is a separate packet type, not an action.
+     * Converts an Adventure Component to a ProtocolLib chat component.
+     * MC 1.21.x uses JSON text components internally, so this runs Gson - results are cached
+     * by Component identity, as rendered lines reuse the same Component instances.
      *
-     * @param viewer The player to send the packet to
-     * @param fakeUuid The UUID of the fake player to remove
+     * @param component The component to convert
+     * @return The wrapped chat component
      */
-    private void sendRemovePacket(Player viewer, UUID fakeUuid) {
-        sendRemovePacket(viewer, List.of(fakeUuid));
+    private WrappedChatComponent toWrappedComponent(Component component) {
+        return displayNameCache.get(new DisplayNameKey(component), key ->
+            WrappedChatComponent.fromJson(GsonComponentSerializer.gson().serialize(key.component()))
+        );
     }
 
     /**
@@ -305,98 +280,274 @@ public class FakePlayerManager {
             }
         }
 
+        // List hidden real players again
+        for (UUID viewerUuid : new HashSet<>(viewerHiddenPlayers.keySet())) {
+            Player viewer = plugin.getServer().getPlayer(viewerUuid);
+            if (viewer != null && viewer.isOnline()) {
+                updateRealPlayerVisibility(viewer, List.of());
+            }
+        }
+
         // Clear all maps
         viewerFakePlayers.clear();
         viewerFakePlayersCache.clear();
+        viewerHiddenPlayers.clear();
+        displayNameCache.clear();
     }
 
     /**
-     * Hides a real player from the viewer's tab list by setting them as "unlisted".
-     * The player remains on the server but won't appear in the tab list for this viewer.
+     * Brings the set of real players hidden from a viewer's tab list in line with the given set.
+     * Only transitions are sent: players that became hidden or visible since the last call,
+     * batched into a single PLAYER_INFO packet. Nothing is sent when nothing changed.
      *
-     * This is used to prevent 4+ column layouts by hiding excess players.
+     * Uses the UPDATE_LISTED action instead of removing and re-adding the player, so the
+     * client keeps the player's skin and chat session.
      *
-     * @param viewer The player who will no longer see the target in their tab list
-     * @param target The real player to hide
+     * @param viewer The player viewing the tab list
+     * @param toHide The real players that should be hidden from the viewer (all others are shown)
      */
-    public void hideRealPlayer(Player viewer, Player target) {
-        if (viewer == null || !viewer.isOnline() || target == null || !target.isOnline()) {
+    public void updateRealPlayerVisibility(Player viewer, Collection<? extends Player> toHide) {
+        if (viewer == null || !viewer.isOnline()) {
+            return;
+        }
+
+        Set<UUID> hidden = viewerHiddenPlayers.get(viewer.getUniqueId());
+        if (hidden == null) {
+            if (toHide.isEmpty()) {
+                return; // Nothing hidden and nothing to hide
+            }
+            hidden = viewerHiddenPlayers.computeIfAbsent(viewer.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
+        }
+
+        List<PlayerInfoData> changes = new ArrayList<>();
+        Set<UUID> shouldHide = new HashSet<>();
+
+        // Newly hidden players
+        for (Player target : toHide) {
+            if (target.getUniqueId().equals(viewer.getUniqueId())) {
+                continue; // Never hide the viewer from themselves
+            }
+            shouldHide.add(target.getUniqueId());
+            if (hidden.add(target.getUniqueId())) {
+                changes.add(createListedData(target, false));
+            }
+        }
+
+        // Previously hidden players that should be visible again
+        for (Iterator<UUID> iterator = hidden.iterator(); iterator.hasNext(); ) {
+            UUID hiddenUuid = iterator.next();
+            if (shouldHide.contains(hiddenUuid)) {
+                continue;
+            }
+            iterator.remove();
+
+            Player target = plugin.getServer().getPlayer(hiddenUuid);
+            if (target != null && target.isOnline()) {
+                changes.add(createListedData(target, true));
+            }
+        }
+
+        if (changes.isEmpty()) {
             return;
         }
 
         try {
-            // Create PLAYER_INFO_REMOVE packet to hide the player
             PacketContainer packet = protocolManager.createPacket(
-                PacketType.Play.Server.PLAYER_INFO_REMOVE
+                PacketType.Play.Server.PLAYER_INFO
             );
 
-            // Set the UUID to remove from the tab list
-            packet.getUUIDLists().write(0, List.of(target.getUniqueId()));
+            // Only toggle the listed flag - the client keeps everything else about the player
+            packet.getPlayerInfoActions().write(0, EnumSet.of(EnumWrappers.PlayerInfoAction.UPDATE_LISTED));
+            packet.getPlayerInfoDataLists().write(1, changes);
 
-            // Send to viewer
             protocolManager.sendServerPacket(viewer, packet);
 
         } catch (Exception e) {
             plugin.getLogger().warning(
-                "Failed to hide player " + target.getName() + " from " + viewer.getName() + ": " + e.getMessage()
+                "Failed to update " + changes.size() + " player visibilities for " + viewer.getName() + ": " + e.getMessage()
             );
         }
     }
 
     /**
-     * Shows a previously hidden real player in the viewer's tab list.
-     * Re-adds the player to the tab list by sending an ADD_PLAYER packet.
+     * Forgets all visibility state involving a player who is leaving.
      *
-     * @param viewer The player who will see the target in their tab list
-     * @param target The real player to show
+     * @param player The player who quit
      */
-    public void showRealPlayer(Player viewer, Player target) {
-        if (viewer == null || !viewer.isOnline() || target == null || !target.isOnline()) {
+    public void forgetRealPlayer(Player player) {
+        if (player == null) {
             return;
         }
 
-        try {
-            // Create PLAYER_INFO packet with ADD_PLAYER action to re-add the player
-            PacketContainer packet = protocolManager.createPacket(
-                PacketType.Play.Server.PLAYER_INFO
-            );
+        viewerHiddenPlayers.remove(player.getUniqueId());
+        for (Set<UUID> hidden : viewerHiddenPlayers.values()) {
+            hidden.remove(player.getUniqueId());
+        }
+    }
 
-            // Set actions to add the player back
-            packet.getPlayerInfoActions().write(0, EnumSet.of(
-                EnumWrappers.PlayerInfoAction.ADD_PLAYER,
-                EnumWrappers.PlayerInfoAction.UPDATE_LISTED
-            ));
+    /**
+     * Creates the PlayerInfoData for an UPDATE_LISTED action.
+     *
+     * @param target The real player
+     * @param listed Whether the player should be listed in the tab list
+     * @return The player info data
+     */
+    private PlayerInfoData createListedData(Player target, boolean listed) {
+        return new PlayerInfoData(
+            target.getUniqueId(),
+            target.getPing(),
+            listed,
+            EnumWrappers.NativeGameMode.fromBukkit(target.getGameMode()),
+            WrappedGameProfile.fromPlayer(target),
+            null,  // Display name - not part of UPDATE_LISTED
+            (WrappedRemoteChatSessionData) null  // Chat session - not part of UPDATE_LISTED
+        );
+    }
 
-            // Create game profile for the target player
-            WrappedGameProfile profile = WrappedGameProfile.fromPlayer(target);
+    /**
+     * Collects one viewer's fake player changes for an update cycle.
+     * Tracking state is updated immediately; packets are only sent on {@link #flush()}.
+     *
+     * A batch is flushed once and then discarded. Not thread-safe - build and flush
+     * a batch on a single thread.
+     */
+    public final class Batch {
+        private final Player viewer;
+        private final List<FakePlayerEntry> adds = new ArrayList<>();
+        private final List<FakePlayerEntry> updates = new ArrayList<>();
+        private final List<UUID> removes = new ArrayList<>();
+
+        private Batch(Player viewer) {
+            this.viewer = viewer;
+        }
 
-            // Get the player's current display name (if any)
-            WrappedChatComponent displayName = null;
-            if (target.displayName() != null) {
-                String displayNameJson = GsonComponentSerializer.gson().serialize(target.displayName());
-                displayName = WrappedChatComponent.fromJson(displayNameJson);
+        /**
+         * Queues a fake player to be added to the viewer's tab list.
+         *
+         * @param entry The fake player data to add
+         * @return This batch
+         */
+        public Batch add(FakePlayerEntry entry) {
+            if (viewer == null || !viewer.isOnline() || entry == null) {
+                return this;
             }
 
-            // Create PlayerInfoData to re-add the player
-            PlayerInfoData data = new PlayerInfoData(
-                profile,
-                target.getPing(),
-                EnumWrappers.NativeGameMode.fromBukkit(target.getGameMode()),
-                displayName,
-                null  // Chat session
-            );
+            // Track this fake player for the viewer
+            viewerFakePlayers
+                .computeIfAbsent(viewer.getUniqueId(), k -> ConcurrentHashMap.newKeySet())
+                .add(entry.uuid());
 
-            // Set the player data
-            packet.getPlayerInfoDataLists().write(1, List.of(data));
+            // Cache the entry for future updates
+            viewerFakePlayersCache
+                .computeIfAbsent(viewer.getUniqueId(), k -> new ConcurrentHashMap<>())
+                .put(entry.uuid(), entry);
 
-            // Send to viewer
-            protocolManager.sendServerPacket(viewer, packet);
+            adds.add(entry);
+            return this;
+        }
 
-        } catch (Exception e) {
-            plugin.getLogger().warning(
-                "Failed to show player " + target.getName() + " to " + viewer.getName() + ": " + e.getMessage()
-            );
+        /**
+         * Queues an update of an existing fake player's display name and ping.
+         * Adds the fake player instead if the viewer does not have it yet,
+         * and skips it entirely if nothing changed.
+         *
+         * @param entry The updated fake player data
+         * @return This batch
+         */
+        public Batch update(FakePlayerEntry entry) {
+            if (viewer == null || !viewer.isOnline() || entry == null) {
+                return this;
+            }
+
+            // Check if this fake player exists for this viewer
+            Set<UUID> fakePlayers = viewerFakePlayers.get(viewer.getUniqueId());
+            if (fakePlayers == null || !fakePlayers.contains(entry.uuid())) {
+                // Not added yet, add it instead
+                return add(entry);
+            }
+
+            // Check if the entry actually changed (avoid unnecessary packets)
+            Map<UUID, FakePlayerEntry> cache = viewerFakePlayersCache.get(viewer.getUniqueId());
+            if (cache != null) {
+                FakePlayerEntry cached = cache.get(entry.uuid());
+                if (cached != null && cached.equals(entry)) {
+                    // No change, skip update
+                    return this;
+                }
+                // Update cache
+                cache.put(entry.uuid(), entry);
+            }
+
+            updates.add(entry);
+            return this;
+        }
+
+        /**
+         * Queues removal of a fake player from the viewer's tab list.
+         *
+         * @param fakeUuid The UUID of the fake player to remove
+         * @return This batch
+         */
+        public Batch remove(UUID fakeUuid) {
+            if (viewer == null || fakeUuid == null) {
+                return this;
+            }
+
+            // Untrack this fake player
+            Set<UUID> fakePlayers = viewerFakePlayers.get(viewer.getUniqueId());
+            if (fakePlayers != null) {
+                fakePlayers.remove(fakeUuid);
+            }
+
+            // Remove from cache
+            Map<UUID, FakePlayerEntry> cache = viewerFakePlayersCache.get(viewer.getUniqueId());
+            if (cache != null) {
+                cache.remove(fakeUuid);
+            }
+
+            removes.add(fakeUuid);
+            return this;
+        }
+
+        /**
+         * Sends all queued changes: at most one add, one update and one remove packet.
+         */
+        public void flush() {
+            // ADD packet with all initial data
+            sendPlayerInfoPacket(viewer, adds, EnumSet.of(
+                EnumWrappers.PlayerInfoAction.ADD_PLAYER,
+                EnumWrappers.PlayerInfoAction.UPDATE_LISTED,
+                EnumWrappers.PlayerInfoAction.UPDATE_LATENCY,
+                EnumWrappers.PlayerInfoAction.UPDATE_DISPLAY_NAME,
+                EnumWrappers.PlayerInfoAction.UPDATE_GAME_MODE
+            ));
+
+            // UPDATE packet (no ADD_PLAYER = no flicker)
+            sendPlayerInfoPacket(viewer, updates, EnumSet.of(
+                EnumWrappers.PlayerInfoAction.UPDATE_LATENCY,
+                EnumWrappers.PlayerInfoAction.UPDATE_DISPLAY_NAME
+            ));
+
+            // REMOVE packet
+            sendRemovePacket(viewer, removes);
         }
     }
-}
 
+    /**
+     * Identity-based cache key for display name Components.
+     * Avoids hashing the whole component tree on every lookup.
+     *
+     * @param component The display name component
+     */
+    private record DisplayNameKey(Component component) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof DisplayNameKey key && key.component == component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+    }
+}
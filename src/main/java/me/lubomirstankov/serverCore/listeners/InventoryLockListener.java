@@ -1,7 +1,7 @@
 package me.lubomirstankov.serverCore.listeners;
 
 import me.lubomirstankov.serverCore.ServerCore;
-import org.bukkit.configuration.ConfigurationSection;
+import me.lubomirstankov.serverCore.core.config.InventoryLockSettings;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -16,7 +16,6 @@ import org.bukkit.event.player.PlayerDropItemEvent;
  */
 public class InventoryLockListener implements Listener {
     private final ServerCore plugin;
-    private static final String CONFIG_PATH = "inventory-lock";
 
     public InventoryLockListener(ServerCore plugin) {
         this.plugin = plugin;
@@ -28,17 +27,12 @@ public class InventoryLockListener implements Listener {
             return;
         }
 
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", false)) {
+        InventoryLockSettings settings = plugin.getSettings().inventoryLock();
+        if (!settings.enabled() || !settings.preventClick()) {
             return;
         }
 
-        if (!section.getBoolean("prevent-click", true)) {
-            return;
-        }
-
-        String bypassPermission = section.getString("bypass-permission", "servercore.inventory.bypass");
-        if (player.hasPermission(bypassPermission)) {
+        if (player.hasPermission(settings.bypassPermission())) {
             return;
         }
 
@@ -49,17 +43,12 @@ public class InventoryLockListener implements Listener {
     public void onPlayerDropItem(PlayerDropItemEvent event) {
         Player player = event.getPlayer();
 
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", false)) {
-            return;
-        }
-
-        if (!section.getBoolean("prevent-drop", true)) {
+        InventoryLockSettings settings = plugin.getSettings().inventoryLock();
+        if (!settings.enabled() || !settings.preventDrop()) {
             return;
         }
 
-        String bypassPermission = section.getString("bypass-permission", "servercore.inventory.bypass");
-        if (player.hasPermission(bypassPermission)) {
+        if (player.hasPermission(settings.bypassPermission())) {
             return;
         }
 
@@ -72,21 +61,15 @@ public class InventoryLockListener implements Listener {
             return;
         }
 
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", false)) {
+        InventoryLockSettings settings = plugin.getSettings().inventoryLock();
+        if (!settings.enabled() || !settings.preventPickup()) {
             return;
         }
 
-        if (!section.getBoolean("prevent-pickup", true)) {
-            return;
-        }
-
-        String bypassPermission = section.getString("bypass-permission", "servercore.inventory.bypass");
-        if (player.hasPermission(bypassPermission)) {
+        if (player.hasPermission(settings.bypassPermission())) {
             return;
         }
 
         event.setCancelled(true);
     }
 }
-
@@ -0,0 +1,203 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import me.lubomirstankov.serverCore.core.config.DoubleJumpSettings;
+import me.lubomirstankov.serverCore.utils.TimingWheel;
+import org.bukkit.Location;
+import org.bukkit.entity.Firework;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Plays double jump effects within a per-tick and per-chunk budget.
+ *
+ * Effects only the jumper sees (potion effects, action bar, title, sound) always play.
+ * Area effects (fireworks, particles) are budgeted:
+ * - the first jump in a chunk each tick gets the full effects while less than half the
+ *   tick budget is spent
+ * - further jumps in the same chunk merge into it and only get reduced particles, as does
+ *   every jump once half the tick budget is spent
+ * - past the per-chunk limit or the tick budget, area effects are skipped
+ *
+ * A firework costs 1 unit and a particle burst costs 1 unit. With the packet backend, only
+ * players within the view radius receive area effects.
+ *
+ * Main thread only.
+ */
+final class JumpEffectDispatcher {
+    private final Plugin plugin;
+    private final TimingWheel timingWheel;
+
+    // Spent this tick - reset by tick()
+    private final Map<ChunkKey, Integer> chunkJumps = new HashMap<>();
+    private int spent;
+
+    private PacketJumpEffects packetEffects; // Created while the packet effects backend is in use
+
+    /**
+     * @param plugin the owning plugin
+     * @param timingWheel the wheel that runs delayed firework steps
+     */
+    JumpEffectDispatcher(Plugin plugin, TimingWheel timingWheel) {
+        this.plugin = plugin;
+        this.timingWheel = timingWheel;
+    }
+
+    /**
+     * Set up the packet effects backend, falling back to real entities when ProtocolLib is missing
+     *
+     * @param backend the configured backend
+     */
+    void applyBackend(DoubleJumpSettings.Backend backend) {
+        if (backend != DoubleJumpSettings.Backend.PACKET) {
+            packetEffects = null;
+        } else if (!plugin.getServer().getPluginManager().isPluginEnabled("ProtocolLib")) {
+            plugin.getLogger().warning("double-jump.effects.backend 'packet' requires ProtocolLib, using 'entity' instead");
+            packetEffects = null;
+        } else if (packetEffects == null) {
+            packetEffects = new PacketJumpEffects(plugin.getLogger());
+        } else {
+            // New settings snapshot - the data built for the old one is never used again
+            packetEffects.clear();
+        }
+    }
+
+    /**
+     * Start a new budget period. Call once per tick.
+     */
+    void tick() {
+        spent = 0;
+        if (!chunkJumps.isEmpty()) {
+            chunkJumps.clear();
+        }
+    }
+
+    /**
+     * Play the effects of a double jump
+     *
+     * @param player the player who double jumped
+     * @param effects the effects
+     */
+    void dispatch(Player player, DoubleJumpSettings.Effects effects) {
+        playPersonalEffects(player, effects);
+
+        if (effects.fireworks() == null && effects.particles() == null) {
+            return;
+        }
+
+        DoubleJumpSettings.Budget budget = effects.budget();
+        Location location = player.getLocation();
+        ChunkKey chunkKey = new ChunkKey(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        int jumpsInChunk = chunkJumps.merge(chunkKey, 1, Integer::sum);
+
+        if (jumpsInChunk > budget.perChunk() || spent >= budget.perTick()) {
+            return; // Merged into the effects already playing here
+        }
+
+        boolean full = jumpsInChunk == 1 && spent < budget.perTick() / 2;
+
+        // Packet backend is in use unless ProtocolLib was missing at load
+        boolean packets = effects.backend() == DoubleJumpSettings.Backend.PACKET && packetEffects != null;
+
+        DoubleJumpSettings.Fireworks fireworks = effects.fireworks();
+        if (full && fireworks != null) {
+            int count = Math.min(fireworks.count(), budget.perTick() - spent);
+            spawnFireworks(player, fireworks, count, packets, budget.viewRadius());
+            spent += Math.max(0, count);
+        }
+
+        DoubleJumpSettings.Particles particles = effects.particles();
+        if (particles != null && spent < budget.perTick()) {
+            int count = full ? particles.count() : Math.max(1, particles.count() / 2);
+            spawnParticles(location, particles, count, packets, budget.viewRadius());
+            spent++;
+        }
+    }
+
+    private void playPersonalEffects(Player player, DoubleJumpSettings.Effects effects) {
+        // Potion Effects
+        for (PotionEffect potionEffect : effects.potionEffects()) {
+            player.addPotionEffect(potionEffect);
+        }
+
+        // Action Bar
+        if (effects.actionBar() != null) {
+            player.sendActionBar(effects.actionBar());
+        }
+
+        // Title
+        if (effects.title() != null) {
+            player.showTitle(effects.title());
+        }
+
+        // Sound
+        if (effects.sound() != null) {
+            player.playSound(effects.sound());
+        }
+    }
+
+    private void spawnParticles(Location location, DoubleJumpSettings.Particles particles, int count,
+                                boolean packets, double viewRadius) {
+        if (packets) {
+            packetEffects.sendParticles(location.getNearbyPlayers(viewRadius), location, particles, count);
+            return;
+        }
+
+        location.getWorld().spawnParticle(
+                particles.particle(),
+                location,
+                count,
+                particles.spread(), particles.spread(), particles.spread(),
+                particles.speed()
+        );
+    }
+
+    /**
+     * Launch the fireworks two ticks apart. Each step is queued on the timing wheel
+     * instead of becoming its own scheduler task.
+     */
+    private void spawnFireworks(Player player, DoubleJumpSettings.Fireworks fireworks, int count,
+                                boolean packets, double viewRadius) {
+        if (count <= 0) {
+            return;
+        }
+        spawnFirework(player, fireworks, packets, viewRadius);
+        for (int i = 1; i < count; i++) {
+            timingWheel.schedule(i * 2L, timeout -> spawnFirework(player, fireworks, packets, viewRadius));
+        }
+    }
+
+    private void spawnFirework(Player player, DoubleJumpSettings.Fireworks fireworks, boolean packets, double viewRadius) {
+        if (!player.isOnline()) {
+            return;
+        }
+
+        // Client-side only - explodes as soon as it appears, nothing for the server to track
+        if (packets && packetEffects != null) {
+            Location location = player.getLocation();
+            packetEffects.sendFirework(location.getNearbyPlayers(viewRadius), location, fireworks);
+            return;
+        }
+
+        Firework firework = player.getWorld().spawn(player.getLocation(), Firework.class);
+        FireworkMeta meta = firework.getFireworkMeta();
+        meta.addEffect(fireworks.effect());
+        meta.setPower(0);
+        firework.setFireworkMeta(meta);
+
+        // Detonate immediately for visual effect
+        timingWheel.schedule(1L, timeout -> {
+            if (firework.isValid()) {
+                firework.detonate();
+            }
+        });
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {
+    }
+}
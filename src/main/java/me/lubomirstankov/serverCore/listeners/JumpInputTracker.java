@@ -0,0 +1,113 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.events.ListenerPriority;
+import com.comphenix.protocol.events.PacketAdapter;
+import com.comphenix.protocol.events.PacketEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Detects jump key presses from the client's PLAYER_INPUT packets (1.21.2+).
+ *
+ * The client only sends the packet when its input state changes, so a press is the
+ * jump flag going from released to held. Presses are queued for the main thread,
+ * which drains them once per tick; releases and repeated held states cost nothing
+ * beyond the packet read.
+ *
+ * If the packet layout ever stops matching (a protocol change), the first read failure
+ * is kept so the owner can report it and stop relying on this tracker.
+ */
+final class JumpInputTracker extends PacketAdapter {
+    // Index of "jump" in the packet's Input(forward, backward, left, right, jump, shift, sprint)
+    private static final int JUMP_FIELD = 4;
+
+    // Players currently holding jump - written from netty threads
+    private final Set<UUID> jumpHeld = ConcurrentHashMap.newKeySet();
+    // Presses waiting for the next main-thread tick
+    private final Queue<Player> presses = new ConcurrentLinkedQueue<>();
+    // First packet read failure, null while the layout matches
+    private volatile RuntimeException readFailure;
+
+    /**
+     * @param plugin the owning plugin
+     */
+    JumpInputTracker(Plugin plugin) {
+        super(plugin, ListenerPriority.MONITOR, PacketType.Play.Client.PLAYER_INPUT);
+    }
+
+    void register() {
+        ProtocolLibrary.getProtocolManager().addPacketListener(this);
+    }
+
+    void unregister() {
+        ProtocolLibrary.getProtocolManager().removePacketListener(this);
+        jumpHeld.clear();
+        presses.clear();
+    }
+
+    /**
+     * Hand the queued presses to the consumer. Main thread only.
+     *
+     * @param onJumpPressed called for every press since the last drain
+     */
+    void drainPresses(Consumer<Player> onJumpPressed) {
+        Player player;
+        while ((player = presses.poll()) != null) {
+            onJumpPressed.accept(player);
+        }
+    }
+
+    /**
+     * @return the first failure reading an input packet, or null if every read succeeded
+     */
+    RuntimeException readFailure() {
+        return readFailure;
+    }
+
+    /**
+     * Forget a player's input state, e.g. on quit
+     *
+     * @param playerId the player's UUID
+     */
+    void forget(UUID playerId) {
+        jumpHeld.remove(playerId);
+    }
+
+    @Override
+    public void onPacketReceiving(PacketEvent event) {
+        if (event.isPlayerTemporary()) {
+            return;
+        }
+
+        Player player = event.getPlayer();
+        boolean jump;
+        try {
+            jump = event.getPacket().getStructures().read(0).getBooleans().read(JUMP_FIELD);
+        } catch (RuntimeException e) {
+            // Unexpected packet layout - keep the first failure for the owner to report
+            if (readFailure == null) {
+                readFailure = e;
+            }
+            return;
+        }
+
+        if (!jump) {
+            jumpHeld.remove(player.getUniqueId());
+            return;
+        }
+
+        // Only the press itself counts, not the key staying held
+        if (jumpHeld.add(player.getUniqueId())) {
+            presses.add(player);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import me.lubomirstankov.serverCore.core.config.DoubleJumpSettings;
+import me.lubomirstankov.serverCore.utils.TimingWheel;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Double jump state of one player, stored once and looked up once per event.
+ * Flags are bits, so checks and updates don't box. Cooldown and damage protection are
+ * timing wheel timeouts that clear themselves when they expire - checking them is a null check.
+ *
+ * Mutated on the main thread only.
+ */
+final class JumpState {
+    private static final int IN_AIR = 1;              // High enough off the ground to double jump
+    private static final int MANAGED_FLIGHT = 1 << 1; // Flight was enabled by THIS plugin
+    private static final int BOOSTED = 1 << 2;        // Already double jumped during this airtime
+    private static final int TRACKED = 1 << 3;        // In the airborne list, checked for landing
+    // Permissions can change without an event - resolve the effect profile again every 5 seconds
+    private static final int EFFECTS_RECHECK_TICKS = 100;
+
+    private final Player player;
+    private int flags;
+    private TimingWheel.Timeout cooldown;   // null = ready
+    private TimingWheel.Timeout protection; // null = unprotected
+
+    // Resolved effect profile, the settings it was resolved from (a reload replaces them) and when
+    private DoubleJumpSettings effectsResolvedFrom;
+    private DoubleJumpSettings.Effects effects;
+    private int effectsResolvedAt;
+
+    JumpState(Player player) {
+        this.player = player;
+    }
+
+    Player player() {
+        return player;
+    }
+
+    boolean isInAir() {
+        return (flags & IN_AIR) != 0;
+    }
+
+    void setInAir(boolean inAir) {
+        set(IN_AIR, inAir);
+    }
+
+    boolean isFlightManaged() {
+        return (flags & MANAGED_FLIGHT) != 0;
+    }
+
+    void setFlightManaged(boolean managed) {
+        set(MANAGED_FLIGHT, managed);
+    }
+
+    boolean isBoosted() {
+        return (flags & BOOSTED) != 0;
+    }
+
+    void setBoosted(boolean boosted) {
+        set(BOOSTED, boosted);
+    }
+
+    boolean isTracked() {
+        return (flags & TRACKED) != 0;
+    }
+
+    void setTracked(boolean tracked) {
+        set(TRACKED, tracked);
+    }
+
+    /**
+     * Get the player's effects, resolving their profile only when the settings changed since
+     * the last call, the cache was invalidated or the last resolution is a few seconds old
+     *
+     * @param settings the current double jump settings
+     * @return the effects to play for the player
+     */
+    DoubleJumpSettings.Effects effects(DoubleJumpSettings settings) {
+        int now = Bukkit.getCurrentTick();
+        if (effectsResolvedFrom != settings || now - effectsResolvedAt >= EFFECTS_RECHECK_TICKS) {
+            effects = settings.effectsFor(player);
+            effectsResolvedFrom = settings;
+            effectsResolvedAt = now;
+        }
+        return effects;
+    }
+
+    /**
+     * Resolve the effect profile again on the next jump, e.g. after a world change
+     */
+    void invalidateEffects() {
+        effectsResolvedFrom = null;
+        effects = null;
+    }
+
+    /**
+     * Forget the airtime, e.g. when the detection mode changes
+     */
+    void resetAirState() {
+        flags &= ~(IN_AIR | BOOSTED | TRACKED);
+    }
+
+    /**
+     * @return true while the cooldown of the last double jump runs
+     */
+    boolean isOnCooldown() {
+        return cooldown != null;
+    }
+
+    /**
+     * Start a cooldown, replacing any running one
+     *
+     * @param timeout the timeout that calls {@link #endCooldown} when the cooldown is over
+     */
+    void startCooldown(TimingWheel.Timeout timeout) {
+        if (cooldown != null) {
+            cooldown.cancel();
+        }
+        cooldown = timeout;
+    }
+
+    /**
+     * @param timeout the expired cooldown timeout
+     */
+    void endCooldown(TimingWheel.Timeout timeout) {
+        if (cooldown == timeout) {
+            cooldown = null;
+        }
+    }
+
+    /**
+     * @return true while fall and explosion damage from the last double jump is prevented
+     */
+    boolean isDamageProtected() {
+        return protection != null;
+    }
+
+    /**
+     * Start damage protection, replacing any running one
+     *
+     * @param timeout the timeout that calls {@link #endProtection} when the protection is over
+     */
+    void startProtection(TimingWheel.Timeout timeout) {
+        if (protection != null) {
+            protection.cancel();
+        }
+        protection = timeout;
+    }
+
+    /**
+     * @param timeout the expired protection timeout
+     */
+    void endProtection(TimingWheel.Timeout timeout) {
+        if (protection == timeout) {
+            protection = null;
+        }
+    }
+
+    /**
+     * Cancel the running cooldown and protection, e.g. on quit, so the wheel holds no stale entries
+     */
+    void cancelTimers() {
+        if (cooldown != null) {
+            cooldown.cancel();
+            cooldown = null;
+        }
+        if (protection != null) {
+            protection.cancel();
+            protection = null;
+        }
+    }
+
+    private void set(int flag, boolean value) {
+        if (value) {
+            flags |= flag;
+        } else {
+            flags &= ~flag;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import com.comphenix.protocol.wrappers.WrappedParticle;
+import me.lubomirstankov.serverCore.core.config.DoubleJumpSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Client-side double jump effects: nothing exists on the server, viewers get the packets directly.
+ *
+ * A firework is a spawn + item metadata + "explode" status (17) + destroy for a client-only
+ * entity id, so it explodes in the viewer's client the moment it appears. The metadata is
+ * built once per parsed firework config (one per profile) from the item the config prebuilt;
+ * only the spawn position and entity id change per jump.
+ *
+ * Particles are one WORLD_PARTICLES packet per jump, built once and written to every viewer's
+ * connection, instead of a spawnParticle call that builds a packet per viewer. Particles that
+ * need extra data (dust colour, block...) and servers where the packet can't be built use
+ * spawnParticle.
+ *
+ * Main thread only.
+ */
+final class PacketJumpEffects {
+    // FireworkRocketEntity data: 0-7 belong to Entity, 8 is the firework item
+    private static final int FIREWORK_ITEM_INDEX = 8;
+    private static final byte FIREWORK_EXPLODE_STATUS = 17;
+
+    private final ProtocolManager protocolManager;
+    private final Logger logger;
+
+    // Metadata per firework config and wrapped particle per particle config. Keyed by identity:
+    // the settings are immutable and replaced as a whole, and hashing the records would hash the
+    // prebuilt item on every jump. Cleared on reload.
+    private final Map<DoubleJumpSettings.Fireworks, List<WrappedDataValue>> fireworkMetadata = new IdentityHashMap<>();
+    private final Map<DoubleJumpSettings.Particles, WrappedParticle<?>> wrappedParticles = new IdentityHashMap<>();
+    private boolean particlePacketsFailed; // Set once building the packet failed - spawnParticle from then on
+
+    PacketJumpEffects(Logger logger) {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.logger = logger;
+    }
+
+    /**
+     * Forget the data built for the previous settings, on reload
+     */
+    void clear() {
+        fireworkMetadata.clear();
+        wrappedParticles.clear();
+    }
+
+    /**
+     * Show one exploding firework to the viewers
+     *
+     * @param viewers the players who see it
+     * @param location where it explodes
+     * @param fireworks the firework config
+     */
+    void sendFirework(Collection<? extends Player> viewers, Location location, DoubleJumpSettings.Fireworks fireworks) {
+        if (viewers.isEmpty()) {
+            return;
+        }
+
+        try {
+            int entityId = Bukkit.getUnsafe().nextEntityId();
+
+            PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+            spawn.getIntegers().write(0, entityId);
+            // Client-only entity that nothing looks up - any UUID will do, without SecureRandom
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            spawn.getUUIDs().write(0, new UUID(random.nextLong(), random.nextLong()));
+            spawn.getEntityTypeModifier().write(0, EntityType.FIREWORK_ROCKET);
+            spawn.getDoubles()
+                .write(0, location.getX())
+                .write(1, location.getY())
+                .write(2, location.getZ());
+            // 1.21.9+ sends the movement as a vector - it must not stay null
+            spawn.getVectors().writeSafely(0, new Vector());
+
+            PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+            metadata.getIntegers().write(0, entityId);
+            metadata.getDataValueCollectionModifier().write(0, fireworkMetadata(fireworks));
+
+            PacketContainer explode = protocolManager.createPacket(PacketType.Play.Server.ENTITY_STATUS);
+            explode.getIntegers().write(0, entityId);
+            explode.getBytes().write(0, FIREWORK_EXPLODE_STATUS);
+
+            PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+            destroy.getIntLists().write(0, List.of(entityId));
+
+            for (Player viewer : viewers) {
+                protocolManager.sendServerPacket(viewer, spawn);
+                protocolManager.sendServerPacket(viewer, metadata);
+                protocolManager.sendServerPacket(viewer, explode);
+                protocolManager.sendServerPacket(viewer, destroy);
+            }
+        } catch (Exception e) {
+            logger.warning("Failed to send double jump firework packets: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Show particles to the viewers only
+     *
+     * @param viewers the players who see them
+     * @param location where they spawn
+     * @param particles the particle config
+     * @param count the number of particles, which may be reduced from the configured count
+     */
+    void sendParticles(Collection<? extends Player> viewers, Location location, DoubleJumpSettings.Particles particles, int count) {
+        if (viewers.isEmpty()) {
+            return;
+        }
+
+        if (!particlePacketsFailed && particles.particle().getDataType() == Void.class) {
+            try {
+                PacketContainer packet = particlePacket(location, particles, count);
+                for (Player viewer : viewers) {
+                    protocolManager.sendServerPacket(viewer, packet);
+                }
+                return;
+            } catch (RuntimeException e) {
+                particlePacketsFailed = true;
+                logger.warning("Failed to build double jump particle packets, sending particles per player instead: "
+                    + e.getMessage());
+            }
+        }
+
+        for (Player viewer : viewers) {
+            viewer.spawnParticle(
+                particles.particle(),
+                location,
+                count,
+                particles.spread(), particles.spread(), particles.spread(),
+                particles.speed()
+            );
+        }
+    }
+
+    private PacketContainer particlePacket(Location location, DoubleJumpSettings.Particles particles, int count) {
+        float spread = (float) particles.spread();
+        PacketContainer packet = protocolManager.createPacket(PacketType.Play.Server.WORLD_PARTICLES);
+        packet.getNewParticles().write(0, wrappedParticles.computeIfAbsent(particles,
+            key -> WrappedParticle.create(key.particle(), null)));
+        packet.getDoubles()
+            .write(0, location.getX())
+            .write(1, location.getY())
+            .write(2, location.getZ());
+        packet.getFloat()
+            .write(0, spread)
+            .write(1, spread)
+            .write(2, spread)
+            .write(3, (float) particles.speed());
+        packet.getIntegers().write(0, count);
+        return packet;
+    }
+
+    private List<WrappedDataValue> fireworkMetadata(DoubleJumpSettings.Fireworks fireworks) {
+        return fireworkMetadata.computeIfAbsent(fireworks, key -> List.of(new WrappedDataValue(
+            FIREWORK_ITEM_INDEX,
+            WrappedDataWatcher.Registry.getItemStackSerializer(false),
+            MinecraftReflection.getMinecraftItemStack(key.item())
+        )));
+    }
+}
@@ -2,108 +2,201 @@ package me.lubomirstankov.serverCore.listeners;
 
 import com.destroystokyo.paper.event.server.PaperServerListPingEvent;
 import me.lubomirstankov.serverCore.ServerCore;
-import me.lubomirstankov.serverCore.utils.PlaceholderUtil;
+import me.lubomirstankov.serverCore.core.ReloadableListener;
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
+import me.lubomirstankov.serverCore.core.config.ServerMotdSettings;
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.template.RenderContext;
+import me.lubomirstankov.serverCore.template.ServerStatsSnapshot;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import me.lubomirstankov.serverCore.utils.RateLimiter;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
 
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 /**
  * Handles server list ping events to customize the MOTD and player hover
  * Supports multi-line MOTD and custom player hover messages
+ *
+ * The rendered MOTD and hover are cached and reused for every ping until the online or max
+ * player count changes, the settings are reloaded, or - when a line is time-based (e.g. uptime,
+ * TPS, PlaceholderAPI) - the cached response is older than {@link #TIME_BASED_TTL_NANOS}.
+ *
+ * Pings are rate limited per address: over the limit, a client gets the static fallback MOTD
+ * or no response, so a single scanner can't force rendering at line rate.
  */
-public class ServerMotdListener implements Listener {
+public class ServerMotdListener implements ReloadableListener {
+    private static final Pattern MINI_MESSAGE_TAG = Pattern.compile("<[^>]*>");
+    private static final int MAX_HOVER_LINES = 12; // Max 12 lines for good display
+    private static final long TIME_BASED_TTL_NANOS = 1_000_000_000L; // 1 second
+
+    // Stable per-line UUIDs, so hover entries need no SecureRandom and stay the same across pings
+    private static final UUID[] HOVER_UUIDS = new UUID[MAX_HOVER_LINES];
+
+    static {
+        for (int i = 0; i < MAX_HOVER_LINES; i++) {
+            HOVER_UUIDS[i] = UUID.nameUUIDFromBytes(("servercore:motd-hover:" + i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
     private final ServerCore plugin;
-    private static final String CONFIG_PATH = "motd.server";
-    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    // Pings may arrive off the main thread - the response is an immutable snapshot
+    private volatile PingResponse cachedResponse;
+    private volatile RateLimiter<InetAddress> rateLimiter;
 
     public ServerMotdListener(ServerCore plugin) {
         this.plugin = plugin;
+        this.rateLimiter = new RateLimiter<>(plugin.getSettings().serverMotd().rateLimit().maxTrackedAddresses());
+    }
+
+    @Override
+    public void reload(PluginSettings settings) {
+        // Settings are read per ping - only the tracked address limit is fixed at creation
+        int maxTrackedAddresses = settings.serverMotd().rateLimit().maxTrackedAddresses();
+        if (maxTrackedAddresses != rateLimiter.maxKeys()) {
+            rateLimiter = new RateLimiter<>(maxTrackedAddresses);
+        }
+    }
+
+    /**
+     * @return the ping rate limiter, for its counters
+     */
+    public RateLimiter<InetAddress> rateLimiter() {
+        return rateLimiter;
     }
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onServerListPing(PaperServerListPingEvent event) {
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
+        ServerMotdSettings settings = plugin.getSettings().serverMotd();
 
-        if (section == null || !section.getBoolean("enabled", true)) {
+        if (!settings.enabled()) {
             return;
         }
 
+        if (isOverRateLimit(event, settings.rateLimit())) {
+            return;
+        }
+
+        PingResponse response = response(settings, event.getNumPlayers(), event.getMaxPlayers());
+
         // Set custom MOTD
-        setCustomMotd(event, section);
+        if (response.motd() != null) {
+            event.motd(response.motd());
+        }
 
         // Set custom player hover
-        setCustomPlayerHover(event, section);
+        if (response.hover() != null) {
+            event.getListedPlayers().clear();
+            event.getListedPlayers().addAll(response.hover());
+        }
 
         // Set custom max players if configured
-        int customMaxPlayers = section.getInt("custom-max-players", -1);
-        if (customMaxPlayers > 0) {
-            event.setMaxPlayers(customMaxPlayers);
+        if (settings.customMaxPlayers() > 0) {
+            event.setMaxPlayers(settings.customMaxPlayers());
         }
     }
 
     /**
-     * Set custom MOTD from config
+     * Check the ping against its address's rate limit and answer it cheaply when over the limit
+     *
+     * @return true if the ping was handled here
      */
-    private void setCustomMotd(PaperServerListPingEvent event, ConfigurationSection section) {
-        List<String> motdLines = section.getStringList("motd-lines");
+    private boolean isOverRateLimit(PaperServerListPingEvent event, ServerMotdSettings.RateLimit rateLimit) {
+        InetAddress address = event.getAddress();
+        if (!rateLimit.enabled() || address == null
+                || rateLimiter.tryAcquire(address, rateLimit.burst(), rateLimit.perSecond())) {
+            return false;
+        }
 
-        if (motdLines.isEmpty()) {
-            return;
+        if (rateLimit.action() == ServerMotdSettings.OverLimitAction.CANCEL) {
+            event.setCancelled(true);
+        } else {
+            event.motd(rateLimit.fallbackMotd());
+            event.getListedPlayers().clear();
+        }
+        return true;
+    }
+
+    /**
+     * Get the cached response, rendering a new one if it no longer matches
+     */
+    private PingResponse response(ServerMotdSettings settings, int onlinePlayers, int maxPlayers) {
+        long now = System.nanoTime();
+        PingResponse cached = cachedResponse;
+        if (cached != null && cached.isValid(settings, onlinePlayers, maxPlayers, now)) {
+            return cached;
         }
 
-        int online = event.getNumPlayers();
-        int max = event.getMaxPlayers();
+        // Capture server stats once for the MOTD and hover lines
+        RenderContext context = RenderContext.server(
+            ServerStatsSnapshot.capture().withPlayerCounts(onlinePlayers, maxPlayers)
+        );
+
+        boolean timeBased = CompiledTemplate.anyTimeBased(settings.motdLines())
+            || (settings.hoverEnabled() && CompiledTemplate.anyTimeBased(settings.hoverLines()));
+
+        PingResponse response = new PingResponse(
+            settings,
+            onlinePlayers,
+            maxPlayers,
+            timeBased,
+            now,
+            renderMotd(settings.motdLines(), context),
+            renderPlayerHover(settings, context)
+        );
+        cachedResponse = response;
+        return response;
+    }
 
-        // Build MOTD (first line and second line)
-        String firstLine = !motdLines.isEmpty() ? motdLines.get(0) : "";
-        String secondLine = motdLines.size() > 1 ? motdLines.get(1) : "";
+    /**
+     * Render the custom MOTD from config
+     *
+     * @return the MOTD, or null to keep the server's
+     */
+    private Component renderMotd(List<CompiledTemplate> motdLines, RenderContext context) {
+        if (motdLines.isEmpty()) {
+            return null;
+        }
 
-        // Replace placeholders
-        firstLine = replacePlaceholders(firstLine, online, max);
-        secondLine = replacePlaceholders(secondLine, online, max);
+        // Build MOTD (first line and second line) with placeholders replaced
+        String firstLine = motdLines.get(0).render(context);
+        String secondLine = motdLines.size() > 1 ? motdLines.get(1).render(context) : "";
 
         // Combine lines with newline
         String fullMotd = secondLine.isEmpty() ? firstLine : firstLine + "\n" + secondLine;
 
-        Component motdComponent = MINI_MESSAGE.deserialize(fullMotd);
-        event.motd(motdComponent);
+        return MiniMessageCache.deserialize(fullMotd);
     }
 
     /**
-     * Set custom player hover text using Paper's protocol API
+     * Render custom player hover text for Paper's protocol API
+     *
+     * @return the hover entries, or null to keep the server's
      */
-    private void setCustomPlayerHover(PaperServerListPingEvent event, ConfigurationSection section) {
-        ConfigurationSection hoverSection = section.getConfigurationSection("player-hover");
+    private List<PaperServerListPingEvent.ListedPlayerInfo> renderPlayerHover(ServerMotdSettings settings, RenderContext context) {
+        List<CompiledTemplate> hoverLines = settings.hoverLines();
 
-        if (hoverSection == null || !hoverSection.getBoolean("enabled", true)) {
-            return;
+        if (!settings.hoverEnabled() || hoverLines.isEmpty()) {
+            return null;
         }
 
-        List<String> hoverLines = hoverSection.getStringList("lines");
-
-        if (hoverLines.isEmpty()) {
-            return;
-        }
-
-        int online = event.getNumPlayers();
-        int max = event.getMaxPlayers();
-
         // Build custom player sample for hover
         try {
             List<PaperServerListPingEvent.ListedPlayerInfo> playerInfoList = new ArrayList<>();
 
-            // Create fake player info for hover text (max 12 lines for good display)
-            int linesToShow = Math.min(hoverLines.size(), 12);
+            // Create fake player info for hover text
+            int linesToShow = Math.min(hoverLines.size(), MAX_HOVER_LINES);
 
             for (int i = 0; i < linesToShow; i++) {
-                String line = replacePlaceholders(hoverLines.get(i), online, max);
+                String line = hoverLines.get(i).render(context);
 
                 // Strip MiniMessage tags and limit to 16 characters for Minecraft username limit
                 String displayName = stripMiniMessage(line);
@@ -111,44 +204,55 @@ public class ServerMotdListener implements Listener {
                     displayName = displayName.substring(0, 16);
                 }
 
-                // Create ListedPlayerInfo using the name and a random UUID
+                // Create ListedPlayerInfo using the name and the line's stable UUID
                 PaperServerListPingEvent.ListedPlayerInfo playerInfo =
-                    new PaperServerListPingEvent.ListedPlayerInfo(displayName, UUID.randomUUID());
+                    new PaperServerListPingEvent.ListedPlayerInfo(displayName, HOVER_UUIDS[i]);
                 playerInfoList.add(playerInfo);
             }
 
-            // Set the custom player sample
-            event.getListedPlayers().clear();
-            event.getListedPlayers().addAll(playerInfoList);
+            return List.copyOf(playerInfoList);
 
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to set custom player hover: " + e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Replace common placeholders in text
+     * Strip MiniMessage tags from text for plain display
+     * This is a simple implementation - for hover we want clean text
      */
-    private String replacePlaceholders(String text, int online, int max) {
-        text = text
-                .replace("{online}", String.valueOf(online))
-                .replace("{max}", String.valueOf(max))
-                .replace("{server}", plugin.getServer().getName())
-                .replace("{version}", plugin.getServer().getVersion());
-
-        // Apply PlaceholderAPI placeholders (without player context for server MOTD)
-        text = PlaceholderUtil.applyPlaceholders(text);
-
-        return text;
+    private String stripMiniMessage(String text) {
+        // Remove MiniMessage tags using the precompiled regex
+        return MINI_MESSAGE_TAG.matcher(text).replaceAll("");
     }
 
     /**
-     * Strip MiniMessage tags from text for plain display
-     * This is a simple implementation - for hover we want clean text
+     * A rendered ping response and what it was rendered for
+     *
+     * @param settings the settings it was rendered from
+     * @param onlinePlayers the online count it shows
+     * @param maxPlayers the max player count it shows
+     * @param timeBased whether it has time-based lines and expires after {@link #TIME_BASED_TTL_NANOS}
+     * @param renderedAt System.nanoTime() when it was rendered
+     * @param motd the MOTD, or null to keep the server's
+     * @param hover the player hover entries, or null to keep the server's
      */
-    private String stripMiniMessage(String text) {
-        // Remove MiniMessage tags using regex
-        return text.replaceAll("<[^>]*>", "");
+    private record PingResponse(
+        ServerMotdSettings settings,
+        int onlinePlayers,
+        int maxPlayers,
+        boolean timeBased,
+        long renderedAt,
+        Component motd,
+        List<PaperServerListPingEvent.ListedPlayerInfo> hover
+    ) {
+        boolean isValid(ServerMotdSettings currentSettings, int currentOnline, int currentMax, long now) {
+            return settings == currentSettings
+                && onlinePlayers == currentOnline
+                && maxPlayers == currentMax
+                && (!timeBased || now - renderedAt < TIME_BASED_TTL_NANOS);
+        }
     }
 }
 
@@ -0,0 +1,91 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rendered text of tab list lines, kept across update cycles so lines are only
+ * re-rendered when they are due.
+ *
+ * A line is due when it has never been rendered (or was invalidated), when its "[refresh:N]"
+ * period has passed, or - for other time-based lines - once per update cycle. Event-driven
+ * lines stay cached until an event invalidates them. Constant lines never reach the cache;
+ * they render to their literal text directly.
+ *
+ * Main thread only.
+ */
+final class TabLineCache {
+    // Keyed by identity - templates are compiled once and shared
+    private final Map<CompiledTemplate, Entry> globalLines = new IdentityHashMap<>();
+    private final Map<UUID, Map<CompiledTemplate, Entry>> viewerLines = new HashMap<>();
+
+    /**
+     * @return the cached global lines
+     */
+    Map<CompiledTemplate, Entry> global() {
+        return globalLines;
+    }
+
+    /**
+     * @param viewer the viewer's UUID
+     * @return the cached per-viewer lines of that viewer
+     */
+    Map<CompiledTemplate, Entry> viewer(UUID viewer) {
+        return viewerLines.computeIfAbsent(viewer, k -> new IdentityHashMap<>());
+    }
+
+    /**
+     * Forget a viewer's lines, e.g. on quit or world change
+     *
+     * @param viewer the viewer's UUID
+     */
+    void invalidate(UUID viewer) {
+        viewerLines.remove(viewer);
+    }
+
+    /**
+     * Forget all global lines, e.g. when the online count changed
+     */
+    void invalidateGlobal() {
+        globalLines.clear();
+    }
+
+    void clear() {
+        globalLines.clear();
+        viewerLines.clear();
+    }
+
+    /**
+     * Check whether a cached line must be rendered again
+     *
+     * @param template the line
+     * @param entry the cached render, or null
+     * @param cycleStart the tick the current update cycle started
+     * @param now the current tick
+     * @return true if the line must be re-rendered
+     */
+    static boolean isDue(CompiledTemplate template, Entry entry, int cycleStart, int now) {
+        if (entry == null) {
+            return true;
+        }
+        if (template.refreshTicks() > 0) {
+            return now - entry.renderedAt() >= template.refreshTicks();
+        }
+        if (template.isTimeBased()) {
+            return entry.renderedAt() < cycleStart;
+        }
+        // Event-driven - cached until invalidated
+        return false;
+    }
+
+    /**
+     * @param text the rendered text
+     * @param renderedAt the tick it was rendered at
+     */
+    record Entry(String text, int renderedAt) {
+    }
+}
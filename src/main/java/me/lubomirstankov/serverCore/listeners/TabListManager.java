@@ -2,21 +2,23 @@ package me.lubomirstankov.serverCore.listeners;
 
 import com.comphenix.protocol.wrappers.EnumWrappers;
 import me.lubomirstankov.serverCore.ServerCore;
-import me.lubomirstankov.serverCore.utils.PlaceholderUtil;
+import me.lubomirstankov.serverCore.core.ReloadableListener;
+import me.lubomirstankov.serverCore.core.config.PluginSettings;
+import me.lubomirstankov.serverCore.core.config.TabListSettings;
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.template.ServerStatsSnapshot;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
-import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.nio.charset.StandardCharsets;
-import java.text.DecimalFormat;
 import java.util.*;
 
 /**
@@ -28,30 +30,77 @@ import java.util.*;
  * - Fake player entries for displaying custom information
  * - Per-viewer or global fake player modes
  * - Flicker-free updates using UPDATE_DISPLAY_NAME action
+ * - Event-driven invalidation: only viewers marked dirty (join/quit, world or gamemode change)
+ *   and time-based lines ({tps}, {ping}, ...) are refreshed by the update timer
  * - Proper cleanup on player quit and plugin disable
  */
-public class TabListManager implements Listener {
+public class TabListManager implements ReloadableListener {
     private final ServerCore plugin;
     private final FakePlayerManager fakePlayerManager;
 
-    private static final String CONFIG_PATH = "tab-list";
-    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
-    private static final DecimalFormat TPS_FORMAT = new DecimalFormat("0.00");
-    
-    private BukkitRunnable updateTask;
-    private final long pluginStartTime;
+    private TabUpdateScheduler updateScheduler;
+
+    // Rendered line text kept across cycles, and the header/footer last sent to each viewer
+    private final TabLineCache lineCache = new TabLineCache();
+    private final Map<UUID, HeaderFooter> sentHeaderFooter = new HashMap<>();
+
+    // Viewers whose tab list must be fully refreshed on their next update
+    private final Set<UUID> dirtyViewers = new HashSet<>();
+
+    // Whether any line changes over time and must be checked on every update
+    private boolean timeBasedHeaderFooter;
+    private boolean timeBasedFakePlayers;
+
+    // Settings snapshot and its compiled lines
+    private TabListSettings settings;
+    private TabListSettings.FakePlayers fakePlayerSettings;
+    private List<CompiledTemplate> headerLines = List.of();
+    private List<CompiledTemplate> footerLines = List.of();
+    private List<CompiledTemplate> leftColumnLines = List.of();
+    private List<CompiledTemplate> centerColumnLines = List.of();
+    private List<CompiledTemplate> rightColumnLines = List.of();
+    private List<CompiledTemplate> playerLines = List.of();
 
     public TabListManager(ServerCore plugin) {
         this.plugin = plugin;
         this.fakePlayerManager = new FakePlayerManager(plugin);
-        this.pluginStartTime = System.currentTimeMillis();
-        startTabUpdateTask();
+        loadTemplates(plugin.getSettings().tabList());
+        startTabUpdateTask(20L);
+    }
+
+    /**
+     * Take the compiled header, footer and fake player lines from a settings snapshot
+     *
+     * @param settings The tab list settings
+     */
+    private void loadTemplates(TabListSettings settings) {
+        this.settings = settings;
+        this.fakePlayerSettings = settings.fakePlayers();
+
+        headerLines = settings.headerLines();
+        footerLines = settings.footerLines();
+        leftColumnLines = fakePlayerSettings.leftColumnLines();
+        centerColumnLines = fakePlayerSettings.centerColumnLines();
+        rightColumnLines = fakePlayerSettings.rightColumnLines();
+        playerLines = fakePlayerSettings.playerLines();
+
+        timeBasedHeaderFooter = CompiledTemplate.anyTimeBased(headerLines) || CompiledTemplate.anyTimeBased(footerLines);
+        timeBasedFakePlayers = CompiledTemplate.anyTimeBased(leftColumnLines)
+            || CompiledTemplate.anyTimeBased(centerColumnLines)
+            || CompiledTemplate.anyTimeBased(rightColumnLines)
+            || CompiledTemplate.anyTimeBased(playerLines);
     }
 
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerJoin(PlayerJoinEvent event) {
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", true)) {
+        if (updateScheduler != null) {
+            updateScheduler.add(event.getPlayer());
+        }
+
+        // Online count and hidden players changed for everyone
+        onOnlinePlayersChanged();
+
+        if (!settings.enabled()) {
             return;
         }
 
@@ -59,9 +108,9 @@ public class TabListManager implements Listener {
         // Critical for 1.21.x - packets sent too early may be ignored
         Bukkit.getScheduler().runTaskLater(plugin, () -> {
             if (event.getPlayer().isOnline()) {
-                updateTabList(event.getPlayer());
-                updateFakePlayers(event.getPlayer());
-                hideExcessPlayers(event.getPlayer());
+                dirtyViewers.add(event.getPlayer().getUniqueId());
+                TabRenderCycle cycle = new TabRenderCycle(ServerStatsSnapshot.capture(), lineCache, plugin.getLogger());
+                updateViewer(event.getPlayer(), cycle);
             }
         }, 20L);  // 20 ticks = 1 second delay
     }
@@ -71,126 +120,179 @@ public class TabListManager implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
+        if (updateScheduler != null) {
+            updateScheduler.remove(event.getPlayer());
+        }
         fakePlayerManager.removeAllFakePlayers(event.getPlayer());
+        fakePlayerManager.forgetRealPlayer(event.getPlayer());
+        lineCache.invalidate(event.getPlayer().getUniqueId());
+        sentHeaderFooter.remove(event.getPlayer().getUniqueId());
+
+        onOnlinePlayersChanged();
+        dirtyViewers.remove(event.getPlayer().getUniqueId());
     }
 
-    private void startTabUpdateTask() {
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null || !section.getBoolean("enabled", true)) {
-            return;
-        }
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        invalidateViewer(event.getPlayer());
+    }
 
-        int updateInterval = section.getInt("update-interval-ticks", 20);
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerGameModeChange(PlayerGameModeChangeEvent event) {
+        // Fired before the change - the refresh happens on the viewer's next update, after it applied
+        invalidateViewer(event.getPlayer());
+    }
 
-        updateTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                ConfigurationSection currentSection = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-                if (currentSection == null || !currentSection.getBoolean("enabled", true)) {
-                    return;
-                }
+    /**
+     * Mark every viewer's tab list as stale and drop all rendered lines, e.g. after a config reload
+     */
+    public void invalidateAll() {
+        lineCache.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            dirtyViewers.add(player.getUniqueId());
+        }
+        if (updateScheduler != null) {
+            updateScheduler.invalidateCycle();
+        }
+    }
 
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    // Update header/footer
-                    updateTabList(player);
+    /**
+     * Mark one viewer's tab list as stale, dropping their per-viewer lines
+     *
+     * @param player The viewer
+     */
+    private void invalidateViewer(Player player) {
+        lineCache.invalidate(player.getUniqueId());
+        dirtyViewers.add(player.getUniqueId());
+    }
 
-                    // Update fake players (flicker-free updates)
-                    updateFakePlayers(player);
+    /**
+     * A player joined or quit: {online}, the "...and X more" counter and the hidden players
+     * change for every viewer, so all of them are refreshed with a fresh stats snapshot.
+     */
+    private void onOnlinePlayersChanged() {
+        lineCache.invalidateGlobal();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            dirtyViewers.add(player.getUniqueId());
+        }
+        if (updateScheduler != null) {
+            updateScheduler.invalidateCycle();
+        }
+    }
 
-                    // Hide excess players to maintain 3-column layout
-                    hideExcessPlayers(player);
-                }
+    /**
+     * Apply reloaded settings without flicker: the new layout is diffed against what each
+     * viewer already sees, so unchanged entries are updated in place instead of re-added.
+     * The update scheduler is only rebuilt when the interval changed or the tab list was toggled.
+     */
+    @Override
+    public void reload(PluginSettings newSettings) {
+        TabListSettings previous = this.settings;
+        loadTemplates(newSettings.tabList());
+
+        if (!settings.enabled()) {
+            stopTabUpdateTask();
+            if (previous.enabled()) {
+                clearTabLists();
             }
-        };
-
-        updateTask.runTaskTimer(plugin, 20L, updateInterval);
-    }
+            return;
+        }
 
-    private void updateTabList(Player player) {
-        ConfigurationSection section = plugin.getConfig().getConfigurationSection(CONFIG_PATH);
-        if (section == null) return;
+        if (updateScheduler == null || previous.updateIntervalTicks() != settings.updateIntervalTicks()) {
+            stopTabUpdateTask();
+            startTabUpdateTask(1L);
+        }
 
-        String headerText = buildText(section.getStringList("header"), player);
-        Component header = MINI_MESSAGE.deserialize(headerText);
+        // Templates changed - drop rendered lines and refresh everyone
+        invalidateAll();
+    }
 
-        String footerText = buildText(section.getStringList("footer"), player);
-        Component footer = MINI_MESSAGE.deserialize(footerText);
+    private void stopTabUpdateTask() {
+        if (updateScheduler != null) {
+            updateScheduler.stop();
+            updateScheduler = null;
+        }
+    }
 
-        player.sendPlayerListHeaderAndFooter(header, footer);
+    /**
+     * Reset every viewer's tab list to vanilla after the custom tab list was disabled
+     */
+    private void clearTabLists() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            fakePlayerManager.removeAllFakePlayers(player);
+            fakePlayerManager.updateRealPlayerVisibility(player, List.of());
+            player.sendPlayerListHeaderAndFooter(Component.empty(), Component.empty());
+        }
+        lineCache.clear();
+        sentHeaderFooter.clear();
+        dirtyViewers.clear();
     }
 
-    private String buildText(List<String> lines, Player player) {
-        if (lines.isEmpty()) return "";
+    private void startTabUpdateTask(long delay) {
+        if (!settings.enabled()) {
+            return;
+        }
+
+        int updateInterval = settings.updateIntervalTicks();
 
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < lines.size(); i++) {
-            builder.append(replacePlaceholders(lines.get(i), player));
-            if (i < lines.size() - 1) {
-                builder.append("\n");
-            }
+        // Everyone already online needs a full first update
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            dirtyViewers.add(player.getUniqueId());
         }
-        return builder.toString();
-    }
 
-    private String replacePlaceholders(String text, Player player) {
-        int onlinePlayers = Bukkit.getOnlinePlayers().size();
-        int maxPlayers = Bukkit.getMaxPlayers();
-
-        double tps = getTPS();
-        String tpsFormatted = TPS_FORMAT.format(tps);
-        String tpsColor = getTpsColor(tps);
-
-        long uptimeMillis = System.currentTimeMillis() - pluginStartTime;
-        String uptime = formatUptime(uptimeMillis);
-
-        Runtime runtime = Runtime.getRuntime();
-        long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
-        long maxMemory = runtime.maxMemory() / (1024 * 1024);
-
-        text = text
-            .replace("{player}", player.getName())
-            .replace("{displayname}", player.displayName().toString())
-            .replace("{online}", String.valueOf(onlinePlayers))
-            .replace("{max}", String.valueOf(maxPlayers))
-            .replace("{world}", player.getWorld().getName())
-            .replace("{tps}", tpsFormatted)
-            .replace("{tps_color}", tpsColor)
-            .replace("{ping}", String.valueOf(player.getPing()))
-            .replace("{uptime}", uptime)
-            .replace("{memory_used}", String.valueOf(usedMemory))
-            .replace("{memory_max}", String.valueOf(maxMemory))
-            .replace("{server}", Bukkit.getServer().getName())
-            .replace("{version}", Bukkit.getServer().getVersion());
-
-        text = PlaceholderUtil.applyPlaceholdersWithBrackets(player, text);
-        return text;
+        // Viewers are spread over the interval - a slice of them is updated every tick
+        updateScheduler = new TabUpdateScheduler(plugin, updateInterval, this::startRenderCycle, this::updateViewer);
+        updateScheduler.start(delay);
     }
 
-    private double getTPS() {
-        try {
-            return Bukkit.getTPS()[0];
-        } catch (Exception e) {
-            return 20.0;
+    /**
+     * Start a render cycle for the next update interval.
+     * Server stats are captured once per cycle; global lines are rendered once and shared by every viewer.
+     *
+     * @return the new cycle, or null if the tab list is currently disabled
+     */
+    private TabRenderCycle startRenderCycle() {
+        if (!settings.enabled()) {
+            return null;
         }
+        return new TabRenderCycle(ServerStatsSnapshot.capture(), lineCache, plugin.getLogger());
     }
 
-    private String getTpsColor(double tps) {
-        if (tps >= 19.0) return "<green>";
-        if (tps >= 17.0) return "<yellow>";
-        if (tps >= 15.0) return "<gold>";
-        return "<red>";
+    /**
+     * Refresh one viewer. Clean viewers only get their time-based parts refreshed;
+     * dirty viewers get everything.
+     */
+    private void updateViewer(Player player, TabRenderCycle cycle) {
+        boolean dirty = dirtyViewers.remove(player.getUniqueId());
+
+        // Update header/footer
+        if (dirty || timeBasedHeaderFooter) {
+            updateTabList(player, cycle);
+        }
+
+        // Update fake players (flicker-free updates)
+        if (dirty || timeBasedFakePlayers) {
+            updateFakePlayers(player, cycle);
+        }
+
+        // Hide excess players to maintain 3-column layout - only changes on join/quit
+        if (dirty) {
+            hideExcessPlayers(player);
+        }
     }
 
-    private String formatUptime(long millis) {
-        long seconds = millis / 1000;
-        long minutes = seconds / 60;
-        long hours = minutes / 60;
-        long days = hours / 24;
+    private void updateTabList(Player player, TabRenderCycle cycle) {
+        Component header = cycle.renderBlock(headerLines, player);
+        Component footer = cycle.renderBlock(footerLines, player);
 
-        if (days > 0) return days + "d " + (hours % 24) + "h";
-        if (hours > 0) return hours + "h " + (minutes % 60) + "m";
-        if (minutes > 0) return minutes + "m " + (seconds % 60) + "s";
-        return seconds + "s";
+        // Skip the packet when nothing changed since the last send
+        HeaderFooter sent = new HeaderFooter(header, footer);
+        if (sent.equals(sentHeaderFooter.get(player.getUniqueId()))) {
+            return;
+        }
+
+        player.sendPlayerListHeaderAndFooter(header, footer);
+        sentHeaderFooter.put(player.getUniqueId(), sent);
     }
 
     /**
@@ -203,12 +305,12 @@ public class TabListManager implements Listener {
      *
      * Uses update-only mode for existing fake players to prevent flickering.
      * Fake players are shown to ALL online players (global view).
+     *
+     * @param player The viewer to update
+     * @param cycle The render state shared by the current update cycle
      */
-    private void updateFakePlayers(Player player) {
-        ConfigurationSection fakeSection = plugin.getConfig()
-            .getConfigurationSection(CONFIG_PATH + ".fake-players");
-
-        if (fakeSection == null || !fakeSection.getBoolean("enabled", false)) {
+    private void updateFakePlayers(Player player, TabRenderCycle cycle) {
+        if (!fakePlayerSettings.enabled()) {
             // Fake players disabled - remove any existing ones
             Set<UUID> existing = fakePlayerManager.getFakePlayersForViewer(player);
             if (!existing.isEmpty()) {
@@ -217,48 +319,47 @@ public class TabListManager implements Listener {
             return;
         }
 
-        String layout = fakeSection.getString("layout", "auto").toLowerCase();
-        List<FakePlayerEntry> entries;
-
-        if ("three-columns".equals(layout)) {
+        List<FakePlayerEntry> entries = switch (fakePlayerSettings.layout()) {
             // Three-column layout: left, center, and right columns
-            entries = parseThreeColumnEntries(player, fakeSection);
-        } else if ("columns".equals(layout)) {
+            case THREE_COLUMNS -> parseThreeColumnEntries(player, cycle);
             // Two-column layout: left and right columns
-            entries = parseColumnBasedEntries(player, fakeSection);
-        } else {
+            case COLUMNS -> parseColumnBasedEntries(player, cycle);
             // Auto layout: single list (traditional)
-            List<String> playerLines = fakeSection.getStringList("players");
-            entries = parseFakePlayerEntries(player, playerLines, 0);
-        }
+            case AUTO -> parseFakePlayerEntries(player, cycle, playerLines, 0);
+        };
 
         if (entries.isEmpty()) {
             return;
         }
 
-        // Get currently shown fake players
-        Set<UUID> currentFakePlayers = fakePlayerManager.getFakePlayersForViewer(player);
+        // Get currently shown fake players (copy - the batch below modifies the tracked set)
+        Set<UUID> currentFakePlayers = new HashSet<>(fakePlayerManager.getFakePlayersForViewer(player));
         Set<UUID> newFakePlayers = new HashSet<>();
 
+        // Collect all changes for this viewer and send them as at most 3 packets
+        FakePlayerManager.Batch batch = fakePlayerManager.batch(player);
+
         // Add or update fake players
         for (FakePlayerEntry entry : entries) {
             newFakePlayers.add(entry.uuid());
 
             if (currentFakePlayers.contains(entry.uuid())) {
                 // Update existing (no flicker)
-                fakePlayerManager.updateFakePlayer(player, entry);
+                batch.update(entry);
             } else {
                 // Add new
-                fakePlayerManager.addFakePlayer(player, entry);
+                batch.add(entry);
             }
         }
 
         // Remove fake players that are no longer in config
         for (UUID existingUuid : currentFakePlayers) {
             if (!newFakePlayers.contains(existingUuid)) {
-                fakePlayerManager.removeFakePlayer(player, existingUuid);
+                batch.remove(existingUuid);
             }
         }
+
+        batch.flush();
     }
 
     /**
@@ -276,20 +377,18 @@ public class TabListManager implements Listener {
      * allowing real players to appear in the center/right naturally.
      *
      * @param viewer The player viewing these fake players
-     * @param fakeSection The config section containing fake-players settings
+     * @param cycle The render state shared by the current update cycle
      * @return List of fake player entries with proper column positioning
      */
-    private List<FakePlayerEntry> parseColumnBasedEntries(Player viewer, ConfigurationSection fakeSection) {
+    private List<FakePlayerEntry> parseColumnBasedEntries(Player viewer, TabRenderCycle cycle) {
         List<FakePlayerEntry> allEntries = new ArrayList<>();
 
         // Parse left column entries (using "!" prefix to sort BEFORE real players)
-        List<String> leftLines = fakeSection.getStringList("left-column");
-        List<FakePlayerEntry> leftEntries = parseFakePlayerEntriesForColumn(viewer, leftLines, 0, "!");
+        List<FakePlayerEntry> leftEntries = parseFakePlayerEntriesForColumn(viewer, cycle, leftColumnLines, 0, "!");
         allEntries.addAll(leftEntries);
 
         // Parse right column entries (using "~" prefix to sort AFTER real players)
-        List<String> rightLines = fakeSection.getStringList("right-column");
-        List<FakePlayerEntry> rightEntries = parseFakePlayerEntriesForColumn(viewer, rightLines, 20, "~");
+        List<FakePlayerEntry> rightEntries = parseFakePlayerEntriesForColumn(viewer, cycle, rightColumnLines, 20, "~");
 
         // Add spacer entries to reach position 20 if needed
         // This ensures right column content appears on the right side
@@ -338,16 +437,15 @@ public class TabListManager implements Listener {
      * Result: Left content | Title -> Real Players | Right content
      *
      * @param viewer The player viewing these fake players
-     * @param fakeSection The config section containing fake-players settings
+     * @param cycle The render state shared by the current update cycle
      * @return List of fake player entries with proper three-column positioning
      */
-    private List<FakePlayerEntry> parseThreeColumnEntries(Player viewer, ConfigurationSection fakeSection) {
+    private List<FakePlayerEntry> parseThreeColumnEntries(Player viewer, TabRenderCycle cycle) {
         List<FakePlayerEntry> allEntries = new ArrayList<>();
 
         // Parse left column entries (0-19)
         // Uses "!" prefix to sort BEFORE real player names (A-Z)
-        List<String> leftLines = fakeSection.getStringList("left-column");
-        List<FakePlayerEntry> leftEntries = parseFakePlayerEntriesForColumn(viewer, leftLines, 0, "!");
+        List<FakePlayerEntry> leftEntries = parseFakePlayerEntriesForColumn(viewer, cycle, leftColumnLines, 0, "!");
         allEntries.addAll(leftEntries);
 
         // Add spacers to fill left column to position 19
@@ -371,20 +469,19 @@ public class TabListManager implements Listener {
         // Parse center column entries (20-39)
         // Uses "!" prefix to sort BEFORE real player names (A-Z)
         // This makes the title/header appear FIRST, then real players appear below it
-        List<String> centerLines = fakeSection.getStringList("center-column");
-        List<FakePlayerEntry> centerEntries = parseFakePlayerEntriesForColumn(viewer, centerLines, 20, "!");
+        List<FakePlayerEntry> centerEntries = parseFakePlayerEntriesForColumn(viewer, cycle, centerColumnLines, 20, "!");
         allEntries.addAll(centerEntries);
 
         // Check if we need to add "...and X more" counter
-        int maxCenterPlayers = fakeSection.getInt("max-center-players", -1);
+        int maxCenterPlayers = fakePlayerSettings.maxCenterPlayers();
         if (maxCenterPlayers > 0) {
-            int totalPlayers = Bukkit.getOnlinePlayers().size();
+            int totalPlayers = plugin.getMain().onlinePlayerIndex.size();
             if (totalPlayers > maxCenterPlayers) {
                 int remainingPlayers = totalPlayers - maxCenterPlayers;
 
                 // Add spacers to position the counter near the bottom
                 int currentSize = allEntries.size();
-                int targetPosition = 20 + centerLines.size() + maxCenterPlayers + 1; // +1 for spacing
+                int targetPosition = 20 + centerColumnLines.size() + maxCenterPlayers + 1; // +1 for spacing
                 int spacersBeforeCounter = Math.max(0, targetPosition - currentSize);
 
                 for (int i = 0; i < spacersBeforeCounter; i++) {
@@ -409,7 +506,7 @@ public class TabListManager implements Listener {
                 );
 
                 String counterText = String.format("<dark_gray>...and <gold>%d</gold> more</dark_gray>", remainingPlayers);
-                Component counterDisplay = MINI_MESSAGE.deserialize(counterText);
+                Component counterDisplay = MiniMessageCache.deserialize(counterText);
 
                 FakePlayerEntry counterEntry = new FakePlayerEntry(
                     counterUuid,
@@ -443,8 +540,7 @@ public class TabListManager implements Listener {
 
         // Parse right column entries (40-59)
         // Uses "~" prefix to sort AFTER real player names
-        List<String> rightLines = fakeSection.getStringList("right-column");
-        List<FakePlayerEntry> rightEntries = parseFakePlayerEntriesForColumn(viewer, rightLines, 40, "~");
+        List<FakePlayerEntry> rightEntries = parseFakePlayerEntriesForColumn(viewer, cycle, rightColumnLines, 40, "~");
         allEntries.addAll(rightEntries);
 
         return allEntries;
@@ -459,20 +555,16 @@ public class TabListManager implements Listener {
      * - "~" prefix: Sorts AFTER A-Z (use for center/right columns and spacers)
      *
      * @param viewer The player viewing these fake players (for placeholder replacement)
-     * @param lines The config lines to parse
+     * @param cycle The render state shared by the current update cycle
+     * @param lines The compiled config lines to render
      * @param startIndex The starting position in the tab list (0=left, 20=center, 40=right)
      * @param sortPrefix The prefix for sorting ("!" or "~")
      * @return List of fake player entries ready to be added to the tab list
      */
-    private List<FakePlayerEntry> parseFakePlayerEntriesForColumn(Player viewer, List<String> lines, int startIndex, String sortPrefix) {
+    private List<FakePlayerEntry> parseFakePlayerEntriesForColumn(Player viewer, TabRenderCycle cycle, List<CompiledTemplate> lines, int startIndex, String sortPrefix) {
         List<FakePlayerEntry> entries = new ArrayList<>();
 
         for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i);
-
-            // Replace placeholders for this viewer
-            String processed = replacePlaceholders(line, viewer);
-
             // Generate deterministic UUID (same line index + column = same UUID)
             int globalIndex = startIndex + i;
             UUID uuid = UUID.nameUUIDFromBytes(
@@ -484,17 +576,8 @@ public class TabListManager implements Listener {
             // Format: !00, !01 (left) or ~00, ~01 (center/right)
             String name = String.format("%s%02d", sortPrefix, globalIndex);
 
-            // Parse display name with MiniMessage
-            Component displayName;
-            try {
-                displayName = MINI_MESSAGE.deserialize(processed);
-            } catch (Exception e) {
-                // Fallback to plain text if MiniMessage parsing fails
-                plugin.getLogger().warning(
-                    "Failed to parse MiniMessage for fake player line " + globalIndex + ": " + e.getMessage()
-                );
-                displayName = Component.text(processed);
-            }
+            // Render the display name - global lines are rendered once per cycle and shared
+            Component displayName = cycle.renderLine(lines.get(i), viewer);
 
             // Create fake player entry
             FakePlayerEntry entry = new FakePlayerEntry(
@@ -518,21 +601,24 @@ public class TabListManager implements Listener {
      * This version uses "~" prefix by default for backwards compatibility.
      *
      * @param viewer The player viewing these fake players (for placeholder replacement)
-     * @param lines The config lines to parse
+     * @param cycle The render state shared by the current update cycle
+     * @param lines The compiled config lines to render
      * @param startIndex The starting position in the tab list (0=left column, 20=right column)
      * @return List of fake player entries ready to be added to the tab list
      */
-    private List<FakePlayerEntry> parseFakePlayerEntries(Player viewer, List<String> lines, int startIndex) {
-        return parseFakePlayerEntriesForColumn(viewer, lines, startIndex, "~");
+    private List<FakePlayerEntry> parseFakePlayerEntries(Player viewer, TabRenderCycle cycle, List<CompiledTemplate> lines, int startIndex) {
+        return parseFakePlayerEntriesForColumn(viewer, cycle, lines, startIndex, "~");
     }
 
+    @Override
     public void cleanup() {
-        if (updateTask != null) {
-            updateTask.cancel();
-        }
+        stopTabUpdateTask();
 
         // Clean up all fake players
         fakePlayerManager.cleanup();
+        lineCache.clear();
+        sentHeaderFooter.clear();
+        dirtyViewers.clear();
     }
 
     /**
@@ -545,41 +631,22 @@ public class TabListManager implements Listener {
      * @param viewer The player viewing the tab list
      */
     private void hideExcessPlayers(Player viewer) {
-        ConfigurationSection fakeSection = plugin.getConfig()
-            .getConfigurationSection(CONFIG_PATH + ".fake-players");
-
-        if (fakeSection == null || !fakeSection.getBoolean("enabled", false)) {
-            return;
-        }
-
-        String layout = fakeSection.getString("layout", "auto").toLowerCase();
-        if (!"three-columns".equals(layout)) {
-            return; // Only hide players in three-column mode
-        }
+        int maxCenterPlayers = fakePlayerSettings.effectiveMaxCenterPlayers();
 
-        int maxCenterPlayers = fakeSection.getInt("max-center-players", -1);
         if (maxCenterPlayers <= 0) {
-            return; // No limit configured
+            // No limit configured - show anyone we hid before
+            fakePlayerManager.updateRealPlayerVisibility(viewer, List.of());
+            return;
         }
 
-        // Get all online players sorted alphabetically
-        List<Player> allPlayers = new ArrayList<>(Bukkit.getOnlinePlayers());
-        allPlayers.sort(Comparator.comparing(Player::getName));
-
-        // Hide players beyond the max limit by setting them as "unlisted"
-        for (int i = maxCenterPlayers; i < allPlayers.size(); i++) {
-            Player playerToHide = allPlayers.get(i);
-            if (playerToHide.getUniqueId().equals(viewer.getUniqueId())) {
-                continue; // Never hide the viewer from themselves
-            }
-            fakePlayerManager.hideRealPlayer(viewer, playerToHide);
-        }
+        // Players beyond the max limit (in name order) are set as "unlisted"; only changes are sent
+        List<Player> toHide = plugin.getMain().onlinePlayerIndex.from(maxCenterPlayers);
+        fakePlayerManager.updateRealPlayerVisibility(viewer, toHide);
+    }
 
-        // Show players within the limit
-        for (int i = 0; i < Math.min(maxCenterPlayers, allPlayers.size()); i++) {
-            Player playerToShow = allPlayers.get(i);
-            fakePlayerManager.showRealPlayer(viewer, playerToShow);
-        }
+    /**
+     * Header and footer as last sent to a viewer
+     */
+    private record HeaderFooter(Component header, Component footer) {
     }
 }
-
@@ -0,0 +1,125 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import me.lubomirstankov.serverCore.template.CompiledTemplate;
+import me.lubomirstankov.serverCore.template.RenderContext;
+import me.lubomirstankov.serverCore.template.ServerStatsSnapshot;
+import me.lubomirstankov.serverCore.utils.MiniMessageCache;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Render state shared by all viewers during one tab list update cycle.
+ *
+ * Global lines (no per-viewer placeholders) are rendered once and the result is reused
+ * for every viewer. Rendered text is kept in the {@link TabLineCache} across cycles, so
+ * constant lines are never re-rendered and lines with a "[refresh:N]" period only when due.
+ */
+class TabRenderCycle {
+    private final ServerStatsSnapshot stats;
+    private final RenderContext globalContext;
+    private final TabLineCache lineCache;
+    private final int startTick;
+    private final Logger logger;
+
+    // Keyed by identity - templates are compiled once and shared
+    private final Map<List<CompiledTemplate>, Component> globalBlocks = new IdentityHashMap<>();
+
+    TabRenderCycle(ServerStatsSnapshot stats, TabLineCache lineCache, Logger logger) {
+        this.stats = stats;
+        this.globalContext = RenderContext.server(stats);
+        this.lineCache = lineCache;
+        this.startTick = Bukkit.getCurrentTick();
+        this.logger = logger;
+    }
+
+    /**
+     * @return the server stats snapshot of this cycle
+     */
+    ServerStatsSnapshot stats() {
+        return stats;
+    }
+
+    /**
+     * Render a single line for a viewer, sharing the result when the line is global
+     *
+     * @param template the compiled line
+     * @param viewer the viewing player
+     * @return the rendered component
+     */
+    Component renderLine(CompiledTemplate template, Player viewer) {
+        return deserialize(renderText(template, viewer));
+    }
+
+    /**
+     * Render a multi-line block (header/footer) for a viewer, sharing the result when every line is global
+     *
+     * @param lines the compiled lines
+     * @param viewer the viewing player
+     * @return the rendered component, lines joined with newlines
+     */
+    Component renderBlock(List<CompiledTemplate> lines, Player viewer) {
+        if (lines.isEmpty()) {
+            return Component.empty();
+        }
+        if (CompiledTemplate.allGlobal(lines)) {
+            return globalBlocks.computeIfAbsent(lines, l -> deserialize(joinLines(l, viewer)));
+        }
+        return deserialize(joinLines(lines, viewer));
+    }
+
+    /**
+     * Render a line's text, reusing the cached text until the line is due again
+     *
+     * @param template the compiled line
+     * @param viewer the viewing player
+     * @return the rendered text
+     */
+    private String renderText(CompiledTemplate template, Player viewer) {
+        if (template.isConstant()) {
+            // Same text forever - nothing to render or cache
+            return template.render(globalContext);
+        }
+
+        boolean perViewer = template.isViewerDependent();
+        Map<CompiledTemplate, TabLineCache.Entry> entries = perViewer
+            ? lineCache.viewer(viewer.getUniqueId())
+            : lineCache.global();
+
+        TabLineCache.Entry entry = entries.get(template);
+        int now = Bukkit.getCurrentTick();
+        if (!TabLineCache.isDue(template, entry, startTick, now)) {
+            return entry.text();
+        }
+
+        String text = template.render(perViewer ? RenderContext.of(viewer, stats) : globalContext);
+        entries.put(template, new TabLineCache.Entry(text, now));
+        return text;
+    }
+
+    private String joinLines(List<CompiledTemplate> lines, Player viewer) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            builder.append(renderText(lines.get(i), viewer));
+            if (i < lines.size() - 1) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+    private Component deserialize(String text) {
+        try {
+            return MiniMessageCache.deserialize(text);
+        } catch (Exception e) {
+            // Fallback to plain text if MiniMessage parsing fails
+            logger.warning("Failed to parse MiniMessage for tab list line '" + text + "': " + e.getMessage());
+            return Component.text(text);
+        }
+    }
+}
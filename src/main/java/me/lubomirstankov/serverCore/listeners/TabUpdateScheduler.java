@@ -0,0 +1,164 @@
+package me.lubomirstankov.serverCore.listeners;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Spreads tab list updates evenly over the update interval.
+ *
+ * Viewers are assigned to one of {@code interval} buckets and one bucket is updated per tick,
+ * so each viewer is still refreshed once per interval but the work is spread over every tick
+ * instead of landing on a single one. New viewers go into the least loaded bucket; when a quit
+ * leaves the buckets uneven, one viewer is moved over to keep them balanced.
+ *
+ * A new render cycle (server stats snapshot + shared global lines) is started once per interval.
+ */
+final class TabUpdateScheduler {
+    private final Plugin plugin;
+    private final int interval;
+    private final Supplier<TabRenderCycle> cycleFactory;
+    private final BiConsumer<Player, TabRenderCycle> viewerUpdate;
+
+    private final List<List<Player>> buckets;
+    private final Map<UUID, Integer> bucketOf = new HashMap<>();
+
+    private int currentBucket;
+    private TabRenderCycle cycle;
+    private BukkitTask task;
+
+    /**
+     * @param plugin the owning plugin
+     * @param interval the refresh period of each viewer, in ticks
+     * @param cycleFactory starts a new render cycle; returning null skips updates (retried next tick)
+     * @param viewerUpdate updates a single viewer
+     */
+    TabUpdateScheduler(Plugin plugin, int interval, Supplier<TabRenderCycle> cycleFactory,
+                       BiConsumer<Player, TabRenderCycle> viewerUpdate) {
+        this.plugin = plugin;
+        this.interval = Math.max(1, interval);
+        this.cycleFactory = cycleFactory;
+        this.viewerUpdate = viewerUpdate;
+
+        this.buckets = new ArrayList<>(this.interval);
+        for (int i = 0; i < this.interval; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Start ticking, scheduling every player already online
+     *
+     * @param delay ticks before the first update
+     */
+    void start(long delay) {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            add(player);
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, delay, 1L);
+    }
+
+    void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        buckets.forEach(List::clear);
+        bucketOf.clear();
+    }
+
+    /**
+     * Schedule a viewer into the least loaded bucket
+     *
+     * @param player the viewer
+     */
+    void add(Player player) {
+        if (bucketOf.containsKey(player.getUniqueId())) {
+            return;
+        }
+        int bucket = smallestBucket();
+        buckets.get(bucket).add(player);
+        bucketOf.put(player.getUniqueId(), bucket);
+    }
+
+    /**
+     * Unschedule a viewer and rebalance if the buckets became uneven
+     *
+     * @param player the viewer
+     */
+    void remove(Player player) {
+        Integer bucket = bucketOf.remove(player.getUniqueId());
+        if (bucket == null) {
+            return;
+        }
+        buckets.get(bucket).removeIf(viewer -> viewer.getUniqueId().equals(player.getUniqueId()));
+        rebalance();
+    }
+
+    /**
+     * Drop the current render cycle so the next tick starts a new one with fresh stats,
+     * e.g. after the online count changed
+     */
+    void invalidateCycle() {
+        cycle = null;
+    }
+
+    private void tick() {
+        int bucket = currentBucket;
+        currentBucket = (currentBucket + 1) % interval;
+
+        if (bucket == 0 || cycle == null) {
+            cycle = cycleFactory.get();
+        }
+        if (cycle == null) {
+            return;
+        }
+
+        List<Player> viewers = buckets.get(bucket);
+        for (int i = 0; i < viewers.size(); i++) {
+            Player viewer = viewers.get(i);
+            if (viewer.isOnline()) {
+                viewerUpdate.accept(viewer, cycle);
+            }
+        }
+    }
+
+    private void rebalance() {
+        int smallest = smallestBucket();
+        int largest = 0;
+        for (int i = 1; i < buckets.size(); i++) {
+            if (buckets.get(i).size() > buckets.get(largest).size()) {
+                largest = i;
+            }
+        }
+
+        // Within one of each other is as even as it gets
+        if (buckets.get(largest).size() - buckets.get(smallest).size() <= 1) {
+            return;
+        }
+
+        List<Player> from = buckets.get(largest);
+        Player moved = from.remove(from.size() - 1);
+        buckets.get(smallest).add(moved);
+        bucketOf.put(moved.getUniqueId(), smallest);
+    }
+
+    private int smallestBucket() {
+        int smallest = 0;
+        for (int i = 1; i < buckets.size(); i++) {
+            if (buckets.get(i).size() < buckets.get(smallest).size()) {
+                smallest = i;
+            }
+        }
+        return smallest;
+    }
+}
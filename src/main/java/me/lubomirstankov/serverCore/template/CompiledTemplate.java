@@ -0,0 +1,281 @@
+package me.lubomirstankov.serverCore.template;
+
+import me.lubomirstankov.serverCore.utils.PlaceholderUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A config line compiled once into literal and placeholder segments.
+ * Rendering is a single pass over the segments - no rescanning of the text per placeholder.
+ *
+ * Unknown {placeholders} are kept as literal text so PlaceholderAPI bracket placeholders
+ * still work; PlaceholderAPI only runs for lines that can contain external placeholders.
+ *
+ * Each template is classified at compile time as global or per-viewer. Global lines render
+ * the same text for everyone and can be shared across viewers within an update cycle.
+ *
+ * A line may start with a "[refresh:N]" prefix (N in ticks, or "Ns" in seconds) declaring how
+ * often it needs to be re-rendered. The prefix is stripped from the rendered text.
+ */
+public final class CompiledTemplate {
+    private static final CompiledTemplate EMPTY = new CompiledTemplate("", new Segment[0], false, false, false, 0);
+    private static final String REFRESH_PREFIX = "[refresh:";
+
+    private final String source;
+    private final Segment[] segments;
+    private final boolean external;
+    private final boolean viewerDependent;
+    private final boolean timeBased;
+    private final int refreshTicks;
+    private final int sizeHint;
+
+    private CompiledTemplate(String source, Segment[] segments, boolean external, boolean viewerDependent,
+                             boolean timeBased, int refreshTicks) {
+        this.source = source;
+        this.segments = segments;
+        this.external = external;
+        this.viewerDependent = viewerDependent;
+        this.timeBased = timeBased;
+        this.refreshTicks = refreshTicks;
+
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.literal() != null ? segment.literal().length() : 8;
+        }
+        this.sizeHint = size;
+    }
+
+    /**
+     * Compile a line against the built-in placeholders
+     *
+     * @param source the raw config line
+     * @return the compiled template
+     */
+    public static CompiledTemplate compile(String source) {
+        return compile(source, PlaceholderRegistry.defaults());
+    }
+
+    /**
+     * Compile a line against the given placeholder registry
+     *
+     * @param source the raw config line
+     * @param registry the registry used to resolve {placeholders}
+     * @return the compiled template
+     */
+    public static CompiledTemplate compile(String source, PlaceholderRegistry registry) {
+        if (source == null || source.isEmpty()) {
+            return EMPTY;
+        }
+
+        // Optional per-line refresh period, e.g. "[refresh:30s]<gray>Uptime: {uptime}"
+        int refreshTicks = 0;
+        int index = 0;
+        if (source.startsWith(REFRESH_PREFIX)) {
+            int end = source.indexOf(']');
+            int parsed = end < 0 ? -1 : parseRefreshTicks(source.substring(REFRESH_PREFIX.length(), end));
+            if (parsed > 0) {
+                refreshTicks = parsed;
+                index = end + 1;
+            }
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean external = source.indexOf('%', index) >= 0;
+        boolean viewerDependent = false;
+        boolean timeBased = false;
+
+        while (index < source.length()) {
+            int open = source.indexOf('{', index);
+            int close = open < 0 ? -1 : source.indexOf('}', open + 1);
+            if (open < 0 || close < 0) {
+                literal.append(source, index, source.length());
+                break;
+            }
+
+            literal.append(source, index, open);
+            String key = source.substring(open + 1, close);
+            PlaceholderRegistry.Placeholder placeholder = registry.get(key);
+
+            if (placeholder == null) {
+                // Not built-in - keep it for PlaceholderAPI bracket placeholders
+                literal.append(source, open, close + 1);
+                external = true;
+            } else {
+                if (!literal.isEmpty()) {
+                    segments.add(new Segment(literal.toString(), null, null));
+                    literal.setLength(0);
+                }
+                segments.add(new Segment(null, placeholder.resolver(), source.substring(open, close + 1)));
+                viewerDependent |= placeholder.viewerDependent();
+                timeBased |= placeholder.timeBased();
+            }
+            index = close + 1;
+        }
+
+        if (!literal.isEmpty()) {
+            segments.add(new Segment(literal.toString(), null, null));
+        }
+
+        return new CompiledTemplate(source, segments.toArray(new Segment[0]), external, viewerDependent, timeBased, refreshTicks);
+    }
+
+    /**
+     * Parse a refresh period: plain ticks ("40") or seconds ("2s")
+     *
+     * @param value the text between "[refresh:" and "]"
+     * @return the period in ticks, or -1 if the value is not a positive period
+     */
+    private static int parseRefreshTicks(String value) {
+        String trimmed = value.trim().toLowerCase();
+        int multiplier = 1;
+        if (trimmed.endsWith("s")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+            multiplier = 20;
+        }
+        try {
+            int period = Integer.parseInt(trimmed) * multiplier;
+            return period > 0 ? period : -1;
+        } catch (NumberFormatException e) {
+            // Not a refresh prefix - keep the text as it is
+            return -1;
+        }
+    }
+
+    /**
+     * Compile every line of a config list
+     *
+     * @param sources the raw config lines
+     * @return unmodifiable list of compiled templates
+     */
+    public static List<CompiledTemplate> compileAll(List<String> sources) {
+        if (sources == null || sources.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CompiledTemplate> templates = new ArrayList<>(sources.size());
+        for (String source : sources) {
+            templates.add(compile(source));
+        }
+        return Collections.unmodifiableList(templates);
+    }
+
+    /**
+     * Render the template for the given context
+     *
+     * @param context the render context
+     * @return the rendered text, ready for MiniMessage
+     */
+    public String render(RenderContext context) {
+        String text;
+        if (segments.length == 1 && segments[0].literal() != null) {
+            text = segments[0].literal();
+        } else if (segments.length == 0) {
+            text = "";
+        } else {
+            StringBuilder builder = new StringBuilder(sizeHint);
+            for (Segment segment : segments) {
+                if (segment.literal() != null) {
+                    builder.append(segment.literal());
+                } else {
+                    String value = segment.resolver().resolve(context);
+                    builder.append(value != null ? value : segment.token());
+                }
+            }
+            text = builder.toString();
+        }
+
+        if (external && PlaceholderUtil.isEnabled()) {
+            text = context.player() != null
+                ? PlaceholderUtil.applyPlaceholdersWithBrackets(context.player(), text)
+                : PlaceholderUtil.applyPlaceholders(text);
+        }
+        return text;
+    }
+
+    /**
+     * @return the declared refresh period in ticks, or 0 if the line refreshes on every update
+     */
+    public int refreshTicks() {
+        return refreshTicks;
+    }
+
+    /**
+     * @return true if the template renders to the same text every time
+     */
+    public boolean isConstant() {
+        return !external && (segments.length == 0 || (segments.length == 1 && segments[0].literal() != null));
+    }
+
+    /**
+     * @return true if the rendered text can differ between viewers ({player}, {ping}, PlaceholderAPI, ...)
+     */
+    public boolean isViewerDependent() {
+        // PlaceholderAPI placeholders are treated as per-viewer: expansions like %vault_rank%
+        // depend on the player without saying so in their name
+        return viewerDependent || (external && PlaceholderUtil.isEnabled());
+    }
+
+    /**
+     * @return true if the rendered text changes over time ({tps}, {ping}, PlaceholderAPI, a refresh period)
+     *         rather than only on events like join/quit or world change
+     */
+    public boolean isTimeBased() {
+        // PlaceholderAPI values can change at any time
+        return timeBased || refreshTicks > 0 || (external && PlaceholderUtil.isEnabled());
+    }
+
+    /**
+     * Check whether any template in the list is time-based
+     *
+     * @param templates the templates to check
+     * @return true if at least one of them changes over time
+     */
+    public static boolean anyTimeBased(List<CompiledTemplate> templates) {
+        for (CompiledTemplate template : templates) {
+            if (template.isTimeBased()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether every template in the list is global
+     *
+     * @param templates the templates to check
+     * @return true if none of them depends on the viewer
+     */
+    public static boolean allGlobal(List<CompiledTemplate> templates) {
+        for (CompiledTemplate template : templates) {
+            if (template.isViewerDependent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the raw config line this template was compiled from
+     */
+    public String source() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * Either a literal text run or a resolved placeholder
+     *
+     * @param literal the literal text (null for placeholders)
+     * @param resolver the placeholder resolver (null for literals)
+     * @param token the raw placeholder token, kept when the resolver has no value
+     */
+    private record Segment(String literal, PlaceholderResolver resolver, String token) {
+    }
+}
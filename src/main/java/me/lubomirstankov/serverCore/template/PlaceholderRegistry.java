@@ -0,0 +1,118 @@
+package me.lubomirstankov.serverCore.template;
+
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of the built-in {placeholder} resolvers shared by every template.
+ * Templates resolve their placeholders against this registry once, at compile time.
+ *
+ * Placeholders are either time-based (their value drifts on its own, like {tps} or {ping})
+ * or event-driven (they only change on join/quit, world change, etc.). Placeholders are
+ * assumed to be time-based unless registered otherwise.
+ */
+public final class PlaceholderRegistry {
+    private static final PlaceholderRegistry DEFAULTS = createDefaults();
+
+    private final Map<String, Placeholder> placeholders = new ConcurrentHashMap<>();
+
+    /**
+     * Get the registry holding the built-in placeholders
+     *
+     * @return the shared default registry
+     */
+    public static PlaceholderRegistry defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Register a placeholder whose value is the same for every viewer (e.g. {online})
+     *
+     * @param key the placeholder name without braces (e.g. "online")
+     * @param resolver the resolver
+     */
+    public void registerGlobal(String key, PlaceholderResolver resolver) {
+        registerGlobal(key, resolver, true);
+    }
+
+    /**
+     * Register a placeholder whose value is the same for every viewer
+     *
+     * @param key the placeholder name without braces (e.g. "online")
+     * @param resolver the resolver
+     * @param timeBased false if the value only changes on events (join/quit, reload)
+     */
+    public void registerGlobal(String key, PlaceholderResolver resolver, boolean timeBased) {
+        placeholders.put(key, new Placeholder(resolver, false, timeBased));
+    }
+
+    /**
+     * Register a placeholder whose value depends on the viewing player (e.g. {ping})
+     *
+     * @param key the placeholder name without braces (e.g. "ping")
+     * @param function the value extractor
+     */
+    public void registerViewer(String key, Function<Player, String> function) {
+        registerViewer(key, function, true);
+    }
+
+    /**
+     * Register a placeholder whose value depends on the viewing player
+     *
+     * @param key the placeholder name without braces (e.g. "world")
+     * @param function the value extractor
+     * @param timeBased false if the value only changes on events (world change, gamemode change)
+     */
+    public void registerViewer(String key, Function<Player, String> function, boolean timeBased) {
+        placeholders.put(key, new Placeholder(PlaceholderResolver.player(function), true, timeBased));
+    }
+
+    /**
+     * Look up a placeholder
+     *
+     * @param key the placeholder name without braces
+     * @return the placeholder, or null if it is not built-in
+     */
+    public Placeholder get(String key) {
+        return placeholders.get(key);
+    }
+
+    private static PlaceholderRegistry createDefaults() {
+        PlaceholderRegistry registry = new PlaceholderRegistry();
+
+        // Player placeholders
+        registry.registerViewer("player", Player::getName, false);
+        // Display names can be changed by other plugins at any time
+        registry.registerViewer("displayname", player -> MiniMessage.miniMessage().serialize(player.displayName()));
+        registry.registerViewer("world", player -> player.getWorld().getName(), false);
+        registry.registerViewer("ping", player -> String.valueOf(player.getPing()));
+        registry.registerViewer("gamemode", player -> player.getGameMode().name(), false);
+
+        // Server placeholders - read from the cycle's statistics snapshot
+        registry.registerGlobal("online", context -> String.valueOf(context.stats().online()), false);
+        registry.registerGlobal("max", context -> String.valueOf(context.stats().max()), false);
+        registry.registerGlobal("tps", context -> context.stats().tpsFormatted());
+        registry.registerGlobal("tps_color", context -> context.stats().tpsColor());
+        registry.registerGlobal("uptime", context -> context.stats().uptime());
+        registry.registerGlobal("memory_used", context -> String.valueOf(context.stats().memoryUsed()));
+        registry.registerGlobal("memory_max", context -> String.valueOf(context.stats().memoryMax()));
+        registry.registerGlobal("server", context -> context.stats().serverName(), false);
+        registry.registerGlobal("version", context -> context.stats().version(), false);
+
+        return registry;
+    }
+
+    /**
+     * A registered placeholder
+     *
+     * @param resolver the resolver producing the value
+     * @param viewerDependent true if the value differs per viewing player
+     * @param timeBased true if the value changes over time rather than on events
+     */
+    public record Placeholder(PlaceholderResolver resolver, boolean viewerDependent, boolean timeBased) {
+    }
+}
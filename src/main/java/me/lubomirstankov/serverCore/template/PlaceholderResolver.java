@@ -0,0 +1,32 @@
+package me.lubomirstankov.serverCore.template;
+
+import org.bukkit.entity.Player;
+
+import java.util.function.Function;
+
+/**
+ * Resolves a single built-in placeholder (e.g. {online}) against a render context.
+ * Resolvers are looked up once when a template is compiled, never while rendering.
+ */
+@FunctionalInterface
+public interface PlaceholderResolver {
+
+    /**
+     * Resolve the placeholder value
+     *
+     * @param context the render context
+     * @return the replacement text, or null to keep the raw placeholder token
+     */
+    String resolve(RenderContext context);
+
+    /**
+     * Create a resolver that needs a player in the context.
+     * Without a player the raw token is kept, like the old String.replace chains did.
+     *
+     * @param function the value extractor
+     * @return the resolver
+     */
+    static PlaceholderResolver player(Function<Player, String> function) {
+        return context -> context.player() == null ? null : function.apply(context.player());
+    }
+}
@@ -0,0 +1,72 @@
+package me.lubomirstankov.serverCore.template;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Everything a compiled template needs to render a line.
+ *
+ * The statistics snapshot is either shared by the current render cycle, or - for one-off
+ * renders like join messages - captured on first use, so text that only uses {player} or
+ * {world} never pays for TPS formatting, memory and uptime.
+ *
+ * Not thread-safe; a context is used by the thread that created it.
+ */
+public final class RenderContext {
+    private final Player player;
+    private ServerStatsSnapshot stats; // null until first use for lazily captured contexts
+
+    private RenderContext(Player player, ServerStatsSnapshot stats) {
+        this.player = player;
+        this.stats = stats;
+    }
+
+    /**
+     * Create a context for a player. Server statistics are captured the first time a
+     * placeholder needs them. Prefer {@link #of(Player, ServerStatsSnapshot)} when rendering
+     * many lines or players.
+     *
+     * @param player the player context (may be null)
+     * @return the render context
+     */
+    public static RenderContext of(Player player) {
+        return new RenderContext(player, null);
+    }
+
+    /**
+     * Create a context for a player sharing an existing statistics snapshot
+     *
+     * @param player the player context (may be null)
+     * @param stats the snapshot of the current cycle
+     * @return the render context
+     */
+    public static RenderContext of(Player player, ServerStatsSnapshot stats) {
+        return new RenderContext(player, stats);
+    }
+
+    /**
+     * Create a context without a player
+     *
+     * @param stats the statistics snapshot to render with
+     * @return the render context
+     */
+    public static RenderContext server(ServerStatsSnapshot stats) {
+        return new RenderContext(null, stats);
+    }
+
+    /**
+     * @return the player the line is rendered for (null for server-wide text like the ping MOTD)
+     */
+    public Player player() {
+        return player;
+    }
+
+    /**
+     * @return the server statistics snapshot, captured now if this context had none yet
+     */
+    public ServerStatsSnapshot stats() {
+        if (stats == null) {
+            stats = ServerStatsSnapshot.capture();
+        }
+        return stats;
+    }
+}
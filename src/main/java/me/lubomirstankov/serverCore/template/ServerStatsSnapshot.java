@@ -0,0 +1,112 @@
+package me.lubomirstankov.serverCore.template;
+
+import org.bukkit.Bukkit;
+
+import java.lang.management.ManagementFactory;
+import java.text.DecimalFormat;
+
+/**
+ * Immutable snapshot of server statistics, captured once per update cycle
+ * and shared by every line rendered in that cycle.
+ *
+ * @param tps the current TPS (1 minute average)
+ * @param tpsFormatted the TPS formatted with two decimals
+ * @param tpsColor the MiniMessage color tag matching the TPS
+ * @param uptime the formatted server uptime (e.g. "2d 5h")
+ * @param memoryUsed used memory in MB
+ * @param memoryMax max memory in MB
+ * @param online the online player count
+ * @param max the max player count
+ * @param serverName the server implementation name
+ * @param version the server version
+ * @param capturedAt when this snapshot was taken (epoch millis)
+ */
+public record ServerStatsSnapshot(
+    double tps,
+    String tpsFormatted,
+    String tpsColor,
+    String uptime,
+    long memoryUsed,
+    long memoryMax,
+    int online,
+    int max,
+    String serverName,
+    String version,
+    long capturedAt
+) {
+    private static final ThreadLocal<DecimalFormat> TPS_FORMAT =
+        ThreadLocal.withInitial(() -> new DecimalFormat("0.00"));
+    private static final long START_TIME = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+    /**
+     * Capture the current server statistics
+     *
+     * @return a new snapshot
+     */
+    public static ServerStatsSnapshot capture() {
+        long now = System.currentTimeMillis();
+        double tps = readTps();
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedMemory = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        long maxMemory = runtime.maxMemory() / (1024 * 1024);
+
+        return new ServerStatsSnapshot(
+            tps,
+            TPS_FORMAT.get().format(tps),
+            tpsColor(tps),
+            formatUptime(now - START_TIME),
+            usedMemory,
+            maxMemory,
+            Bukkit.getOnlinePlayers().size(),
+            Bukkit.getMaxPlayers(),
+            Bukkit.getServer().getName(),
+            Bukkit.getServer().getVersion(),
+            now
+        );
+    }
+
+    /**
+     * Copy this snapshot with different player counts (e.g. the counts reported in a ping event)
+     *
+     * @param online the online player count
+     * @param max the max player count
+     * @return the adjusted snapshot
+     */
+    public ServerStatsSnapshot withPlayerCounts(int online, int max) {
+        if (online == this.online && max == this.max) {
+            return this;
+        }
+        return new ServerStatsSnapshot(
+            tps, tpsFormatted, tpsColor, uptime, memoryUsed, memoryMax,
+            online, max, serverName, version, capturedAt
+        );
+    }
+
+    private static double readTps() {
+        try {
+            return Bukkit.getTPS()[0];
+        } catch (Exception e) {
+            return 20.0;
+        }
+    }
+
+    private static String tpsColor(double tps) {
+        if (tps >= 19.0) return "<green>";
+        if (tps >= 17.0) return "<yellow>";
+        if (tps >= 15.0) return "<gold>";
+        return "<red>";
+    }
+
+    private static String formatUptime(long millis) {
+        long seconds = millis / 1000;
+        long minutes = seconds / 60;
+        long hours = minutes / 60;
+        long days = hours / 24;
+
+        if (days > 0) return days + "d " + (hours % 24) + "h";
+        if (hours > 0) return hours + "h " + (minutes % 60) + "m";
+        if (minutes > 0) return minutes + "m " + (seconds % 60) + "s";
+        return seconds + "s";
+    }
+}
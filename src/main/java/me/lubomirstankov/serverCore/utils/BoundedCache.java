@@ -0,0 +1,138 @@
+package me.lubomirstankov.serverCore.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Thread-safe, size-bounded LRU cache with hit/miss/eviction counters.
+ * Values are computed outside the lock, so a slow loader never blocks other readers.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final Map<K, V> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxSize the maximum number of entries kept before the least recently used one is evicted
+     */
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a cached value, computing and caching it on a miss
+     *
+     * @param key the key
+     * @param loader computes the value on a miss (must not return null)
+     * @return the cached or computed value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        synchronized (this) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits++;
+                return value;
+            }
+            misses++;
+        }
+
+        V value = loader.apply(key);
+
+        synchronized (this) {
+            V existing = entries.putIfAbsent(key, value);
+            return existing != null ? existing : value;
+        }
+    }
+
+    /**
+     * Get a cached value without computing it
+     *
+     * @param key the key
+     * @return the cached value, or null on a miss
+     */
+    public synchronized V getIfPresent(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    /**
+     * Put a value into the cache
+     *
+     * @param key the key
+     * @param value the value (must not be null)
+     */
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Remove a value from the cache
+     *
+     * @param key the key
+     */
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all entries (counters are kept)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return a one-line summary of the cache counters, for logging
+     */
+    public synchronized String describe() {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0.0 : (hits * 100.0) / lookups;
+        return String.format("size=%d/%d hits=%d misses=%d evictions=%d hit-rate=%.1f%%",
+            entries.size(), maxSize, hits, misses, evictions, hitRate);
+    }
+}
@@ -0,0 +1,47 @@
+package me.lubomirstankov.serverCore.utils;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+
+/**
+ * Shared cache from processed MiniMessage strings to parsed Components.
+ * In steady state the tab list, MOTD and double-jump texts are the same strings tick after tick,
+ * so parsing (especially gradients) is done once per distinct string.
+ *
+ * Components are immutable, so cached instances can be shared freely between players and threads.
+ */
+public class MiniMessageCache {
+    private static final int MAX_SIZE = 2048;
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+    private static final BoundedCache<String, Component> CACHE = new BoundedCache<>(MAX_SIZE);
+
+    private MiniMessageCache() {
+    }
+
+    /**
+     * Deserialize a MiniMessage string, using the cached Component when available
+     *
+     * @param text the processed MiniMessage text (placeholders already replaced)
+     * @return the parsed component
+     */
+    public static Component deserialize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Component.empty();
+        }
+        return CACHE.get(text, MINI_MESSAGE::deserialize);
+    }
+
+    /**
+     * Drop all cached components, e.g. after a config reload
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * @return the underlying cache, for its hit/miss/eviction counters
+     */
+    public static BoundedCache<String, Component> cache() {
+        return CACHE;
+    }
+}
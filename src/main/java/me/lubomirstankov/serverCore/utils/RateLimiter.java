@@ -0,0 +1,92 @@
+package me.lubomirstankov.serverCore.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiter with one bucket per key, e.g. per client address.
+ * Buckets live in a size-bounded LRU cache, so a flood of distinct keys can't grow memory.
+ * Evicting an idle bucket loses nothing: it would have refilled to full by the time it is
+ * least recently used, and a new bucket starts full too.
+ *
+ * Thread-safe.
+ *
+ * @param <K> the key type
+ */
+public class RateLimiter<K> {
+    private final BoundedCache<K, Bucket> buckets;
+    private final AtomicLong allowed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    /**
+     * @param maxKeys the maximum number of keys tracked at once
+     */
+    public RateLimiter(int maxKeys) {
+        this.buckets = new BoundedCache<>(maxKeys);
+    }
+
+    /**
+     * Take one token from the key's bucket
+     *
+     * @param key the key
+     * @param capacity the bucket size (burst)
+     * @param perSecond tokens refilled per second
+     * @return true if a token was available, false if the key is over its limit
+     */
+    public boolean tryAcquire(K key, double capacity, double perSecond) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity));
+        if (bucket.tryTake(System.nanoTime(), capacity, perSecond)) {
+            allowed.incrementAndGet();
+            return true;
+        }
+        throttled.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return the number of acquisitions that got a token
+     */
+    public long allowed() {
+        return allowed.get();
+    }
+
+    /**
+     * @return the number of acquisitions refused for being over the limit
+     */
+    public long throttled() {
+        return throttled.get();
+    }
+
+    /**
+     * @return the number of keys currently tracked
+     */
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    /**
+     * @return the maximum number of keys tracked at once
+     */
+    public int maxKeys() {
+        return buckets.maxSize();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(double capacity) {
+            this.tokens = capacity;
+            this.updatedAt = System.nanoTime();
+        }
+
+        synchronized boolean tryTake(long now, double capacity, double perSecond) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) / 1_000_000_000.0 * perSecond);
+            updatedAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package me.lubomirstankov.serverCore.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for tick-based timeouts.
+ * Scheduling and cancelling a timeout are O(1): timeouts hang in a doubly linked list per
+ * slot, and each {@link #advance()} only walks the slot of the current tick.
+ * Delays longer than the wheel simply stay in their slot until their deadline comes around.
+ *
+ * Not thread-safe - schedule, cancel and advance from the same thread (the main thread).
+ */
+public final class TimingWheel {
+    private final Timeout[] slots;
+    private final int mask;
+    // Due timeouts taken out of the current slot, reused every tick
+    private final List<Timeout> expiring = new ArrayList<>();
+
+    private long tick;
+    private int size;
+
+    /**
+     * @param slots the number of slots, rounded up to a power of two
+     */
+    public TimingWheel(int slots) {
+        if (slots <= 0) {
+            throw new IllegalArgumentException("Slot count must be positive: " + slots);
+        }
+        int capacity = Integer.highestOneBit(slots);
+        if (capacity < slots) {
+            capacity <<= 1;
+        }
+        this.slots = new Timeout[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Schedule a callback
+     *
+     * @param delayTicks ticks until the callback runs, at least 1
+     * @param onExpire the callback, given the expired timeout
+     * @return the timeout, which can be cancelled until it expires
+     */
+    public Timeout schedule(long delayTicks, Consumer<Timeout> onExpire) {
+        Timeout timeout = new Timeout(this, tick + Math.max(1, delayTicks), onExpire);
+        link(timeout);
+        return timeout;
+    }
+
+    /**
+     * Move to the next tick and run every callback due on it.
+     * Call once per server tick.
+     */
+    public void advance() {
+        tick++;
+        int slot = (int) (tick & mask);
+
+        // Take the due entries out of the slot in one walk before running any of them, so a
+        // callback that cancels or schedules timeouts can't disturb the walk. A due timeout
+        // cancelled by an earlier callback is skipped.
+        Timeout timeout = slots[slot];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.deadline <= tick) {
+                detach(timeout);
+                timeout.expiring = true;
+                expiring.add(timeout);
+            }
+            timeout = next;
+        }
+
+        for (int i = 0; i < expiring.size(); i++) {
+            Timeout due = expiring.get(i);
+            if (due.expiring) {
+                due.expiring = false;
+                due.wheel = null;
+                size--;
+                due.onExpire.accept(due);
+            }
+        }
+        expiring.clear();
+    }
+
+    /**
+     * Drop all pending timeouts without running them
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length; i++) {
+            Timeout timeout = slots[i];
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                timeout.wheel = null;
+                timeout.prev = null;
+                timeout.next = null;
+                timeout = next;
+            }
+            slots[i] = null;
+        }
+        for (Timeout timeout : expiring) {
+            timeout.expiring = false;
+            timeout.wheel = null;
+        }
+        expiring.clear();
+        size = 0;
+    }
+
+    /**
+     * @return the number of pending timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    private void link(Timeout timeout) {
+        int slot = (int) (timeout.deadline & mask);
+        Timeout head = slots[slot];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[slot] = timeout;
+        size++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.expiring) {
+            // Already out of its slot, waiting to run in advance()
+            timeout.expiring = false;
+        } else {
+            detach(timeout);
+        }
+        timeout.wheel = null;
+        size--;
+    }
+
+    private void detach(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[(int) (timeout.deadline & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * A scheduled callback
+     */
+    public static final class Timeout {
+        private TimingWheel wheel; // null once expired or cancelled
+        private final long deadline;
+        private final Consumer<Timeout> onExpire;
+        private Timeout prev;
+        private Timeout next;
+        private boolean expiring; // Due and out of its slot, runs unless cancelled first
+
+        private Timeout(TimingWheel wheel, long deadline, Consumer<Timeout> onExpire) {
+            this.wheel = wheel;
+            this.deadline = deadline;
+            this.onExpire = onExpire;
+        }
+
+        /**
+         * @return true until the timeout expired or was cancelled
+         */
+        public boolean isPending() {
+            return wheel != null;
+        }
+
+        /**
+         * Cancel the timeout so its callback never runs
+         *
+         * @return true if it was still pending
+         */
+        public boolean cancel() {
+            if (wheel == null) {
+                return false;
+            }
+            wheel.unlink(this);
+            return true;
+        }
+    }
+}